@@ -5,20 +5,82 @@
 
 package org.opensearch.plugin.vector;
 
+import org.opensearch.action.ActionRequest;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.node.DiscoveryNodes;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.IndexScopedSettings;
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.settings.SettingsFilter;
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.io.stream.NamedWriteableRegistry;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.env.Environment;
+import org.opensearch.env.NodeEnvironment;
+import org.opensearch.plugins.ActionPlugin;
 import org.opensearch.plugins.Plugin;
 import org.opensearch.plugins.SearchPlugin;
+import org.opensearch.repositories.RepositoriesService;
+import org.opensearch.rest.RestController;
+import org.opensearch.rest.RestHandler;
+import org.opensearch.script.ScriptService;
 import org.opensearch.search.rescore.RescorerSpec;
+import org.opensearch.plugin.vector.action.MaxSimBatchRescoreAction;
+import org.opensearch.plugin.vector.action.RestMaxSimBatchRescoreAction;
+import org.opensearch.plugin.vector.action.TransportMaxSimBatchRescoreAction;
 import org.opensearch.plugin.vector.rescorer.MaxSimRescorerBuilder;
+import org.opensearch.plugin.vector.rescorer.PreparedQueryCache;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.watcher.ResourceWatcherService;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Plugin for supporting late interaction retrieval models in OpenSearch.
  * These models work by comparing multiple token-level vectors per document
  * with query token vectors using MaxSim scoring.
  */
-public class LateInteractionPlugin extends Plugin implements SearchPlugin {
+public class LateInteractionPlugin extends Plugin implements SearchPlugin, ActionPlugin {
+
+    private PreparedQueryCache preparedQueryCache;
+
+    @Override
+    public Collection<Object> createComponents(
+        Client client,
+        ClusterService clusterService,
+        ThreadPool threadPool,
+        ResourceWatcherService resourceWatcherService,
+        ScriptService scriptService,
+        NamedXContentRegistry xContentRegistry,
+        Environment environment,
+        NodeEnvironment nodeEnvironment,
+        NamedWriteableRegistry namedWriteableRegistry,
+        IndexNameExpressionResolver indexNameExpressionResolver,
+        Supplier<RepositoriesService> repositoriesServiceSupplier
+    ) {
+        preparedQueryCache = PreparedQueryCache.initialize(environment.settings());
+        return List.of(preparedQueryCache);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (preparedQueryCache != null) {
+            preparedQueryCache = null;
+            PreparedQueryCache.release();
+        }
+    }
+
+    @Override
+    public List<Setting<?>> getSettings() {
+        return List.of(PreparedQueryCache.CACHE_SIZE_SETTING);
+    }
 
     @Override
     public List<RescorerSpec<?>> getRescorers() {
@@ -32,4 +94,22 @@ public class LateInteractionPlugin extends Plugin implements SearchPlugin {
         
         return rescorers;
     }
+
+    @Override
+    public List<ActionHandler<? extends ActionRequest, ? extends ActionResponse>> getActions() {
+        return List.of(new ActionHandler<>(MaxSimBatchRescoreAction.INSTANCE, TransportMaxSimBatchRescoreAction.class));
+    }
+
+    @Override
+    public List<RestHandler> getRestHandlers(
+        Settings settings,
+        RestController restController,
+        ClusterSettings clusterSettings,
+        IndexScopedSettings indexScopedSettings,
+        SettingsFilter settingsFilter,
+        IndexNameExpressionResolver indexNameExpressionResolver,
+        Supplier<DiscoveryNodes> nodesInCluster
+    ) {
+        return List.of(new RestMaxSimBatchRescoreAction());
+    }
 }
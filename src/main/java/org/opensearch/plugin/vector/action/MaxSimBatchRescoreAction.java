@@ -0,0 +1,23 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.plugin.vector.action;
+
+import org.opensearch.action.ActionType;
+
+/**
+ * Action that runs many MaxSim queries against the same indices in one request,
+ * rescoring all of them together on each shard with
+ * {@link org.opensearch.plugin.vector.rescorer.MaxSimBatchRescorer}.
+ */
+public class MaxSimBatchRescoreAction extends ActionType<MaxSimBatchRescoreResponse> {
+
+    public static final String NAME = "indices:data/read/maxsim/batch_rescore";
+    public static final MaxSimBatchRescoreAction INSTANCE = new MaxSimBatchRescoreAction();
+
+    private MaxSimBatchRescoreAction() {
+        super(NAME, MaxSimBatchRescoreResponse::new);
+    }
+}
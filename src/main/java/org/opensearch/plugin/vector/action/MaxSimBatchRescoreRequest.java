@@ -0,0 +1,178 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.plugin.vector.action;
+
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.action.support.broadcast.BroadcastRequest;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.plugin.vector.rescorer.MaxSimRescorerBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * Request for {@link MaxSimBatchRescoreAction}: a list of queries, each with a first-stage
+ * query, a MaxSim rescorer and the number of hits to return. All rescorers must target the
+ * same field, sum the same number of best pages and agree on page pruning, so that each
+ * shard can load every document once for the whole batch.
+ */
+public class MaxSimBatchRescoreRequest extends BroadcastRequest<MaxSimBatchRescoreRequest> {
+
+    public static final int DEFAULT_SIZE = 10;
+
+    private final List<Item> items;
+    // Set by the coordinating node and sent with the shard requests
+    private long nowInMillis;
+
+    /**
+     * Creates an empty batch over the given indices
+     *
+     * @param indices Indices to search
+     */
+    public MaxSimBatchRescoreRequest(String... indices) {
+        super(indices);
+        this.items = new ArrayList<>();
+    }
+
+    /**
+     * Reads MaxSimBatchRescoreRequest from a stream
+     *
+     * @param in StreamInput to read from
+     * @throws IOException if reading from stream fails
+     */
+    public MaxSimBatchRescoreRequest(StreamInput in) throws IOException {
+        super(in);
+        items = in.readList(Item::new);
+    }
+
+    /**
+     * Adds a query to the batch
+     *
+     * @param query First-stage query selecting the documents to rescore
+     * @param rescorer MaxSim rescorer applied to the top documents of the query
+     * @param size Number of hits to return for the query
+     * @return This request
+     */
+    public MaxSimBatchRescoreRequest add(QueryBuilder query, MaxSimRescorerBuilder rescorer, int size) {
+        items.add(new Item(query, rescorer, size));
+        return this;
+    }
+
+    public List<Item> items() {
+        return items;
+    }
+
+    long nowInMillis() {
+        return nowInMillis;
+    }
+
+    void nowInMillis(long nowInMillis) {
+        this.nowInMillis = nowInMillis;
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = super.validate();
+        if (items.isEmpty()) {
+            return addValidationError("at least one query is required", validationException);
+        }
+        MaxSimRescorerBuilder first = items.get(0).rescorer();
+        int pagesToSum = first.getPageAggregation().pagesToSum(first.getPageTopK());
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            if (item.size() < 0) {
+                validationException = addValidationError(
+                    "[queries][" + i + "] size must be non-negative but was " + item.size(), validationException);
+            }
+            MaxSimRescorerBuilder rescorer = item.rescorer();
+            if (!first.getField().equals(rescorer.getField())) {
+                validationException = addValidationError(
+                    "[queries][" + i + "] all queries must rescore the same field, expected [" + first.getField()
+                        + "] but got [" + rescorer.getField() + "]", validationException);
+            }
+            if (pagesToSum != rescorer.getPageAggregation().pagesToSum(rescorer.getPageTopK())) {
+                validationException = addValidationError(
+                    "[queries][" + i + "] all queries must sum the same number of best pages, expected [" + pagesToSum
+                        + "] but got [" + rescorer.getPageAggregation().pagesToSum(rescorer.getPageTopK()) + "]",
+                    validationException);
+            }
+            if (first.isPagePruning() != rescorer.isPagePruning()) {
+                validationException = addValidationError(
+                    "[queries][" + i + "] all queries must use the same page pruning, expected [" + first.isPagePruning()
+                        + "] but got [" + rescorer.isPagePruning() + "]", validationException);
+            }
+        }
+        return validationException;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeList(items);
+    }
+
+    /**
+     * One query of the batch
+     */
+    public static class Item implements Writeable {
+        private final QueryBuilder query;
+        private final MaxSimRescorerBuilder rescorer;
+        private final int size;
+
+        public Item(QueryBuilder query, MaxSimRescorerBuilder rescorer, int size) {
+            this.query = Objects.requireNonNull(query, "query must not be null");
+            this.rescorer = Objects.requireNonNull(rescorer, "rescorer must not be null");
+            this.size = size;
+        }
+
+        Item(StreamInput in) throws IOException {
+            query = in.readNamedWriteable(QueryBuilder.class);
+            rescorer = new MaxSimRescorerBuilder(in);
+            size = in.readVInt();
+        }
+
+        public QueryBuilder query() {
+            return query;
+        }
+
+        public MaxSimRescorerBuilder rescorer() {
+            return rescorer;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeNamedWriteable(query);
+            rescorer.writeTo(out);
+            out.writeVInt(size);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Item that = (Item) o;
+            return size == that.size &&
+                   Objects.equals(query, that.query) &&
+                   Objects.equals(rescorer, that.rescorer);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, rescorer, size);
+        }
+    }
+}
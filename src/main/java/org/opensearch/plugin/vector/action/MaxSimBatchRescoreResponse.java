@@ -0,0 +1,145 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.plugin.vector.action;
+
+import org.opensearch.action.support.broadcast.BroadcastResponse;
+import org.opensearch.core.action.support.DefaultShardOperationFailedException;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Response of {@link MaxSimBatchRescoreAction}: the rescored hits of every query of the
+ * batch, in the order the queries were added to the request.
+ */
+public class MaxSimBatchRescoreResponse extends BroadcastResponse {
+
+    private final List<List<Hit>> hits;
+
+    public MaxSimBatchRescoreResponse(int totalShards, int successfulShards, int failedShards,
+                                      List<DefaultShardOperationFailedException> shardFailures,
+                                      List<List<Hit>> hits) {
+        super(totalShards, successfulShards, failedShards, shardFailures);
+        this.hits = hits;
+    }
+
+    /**
+     * Reads MaxSimBatchRescoreResponse from a stream
+     *
+     * @param in StreamInput to read from
+     * @throws IOException if reading from stream fails
+     */
+    public MaxSimBatchRescoreResponse(StreamInput in) throws IOException {
+        super(in);
+        hits = in.readList(input -> input.readList(Hit::new));
+    }
+
+    /**
+     * @return Rescored hits of each query, best first
+     */
+    public List<List<Hit>> getHits() {
+        return hits;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeCollection(hits, StreamOutput::writeList);
+    }
+
+    @Override
+    protected void addCustomXContentFields(XContentBuilder builder, Params params) throws IOException {
+        builder.startArray("responses");
+        for (List<Hit> queryHits : hits) {
+            builder.startObject();
+            builder.startArray("hits");
+            for (Hit hit : queryHits) {
+                hit.toXContent(builder, params);
+            }
+            builder.endArray();
+            builder.endObject();
+        }
+        builder.endArray();
+    }
+
+    /**
+     * A rescored document
+     */
+    public static class Hit implements Writeable, ToXContentObject {
+
+        /**
+         * Orders hits by descending score
+         */
+        public static final Comparator<Hit> BY_SCORE = Comparator.comparing(Hit::getScore).reversed();
+
+        private final String index;
+        private final String id;
+        private final float score;
+
+        public Hit(String index, String id, float score) {
+            this.index = index;
+            this.id = id;
+            this.score = score;
+        }
+
+        Hit(StreamInput in) throws IOException {
+            index = in.readString();
+            id = in.readString();
+            score = in.readFloat();
+        }
+
+        public String getIndex() {
+            return index;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public float getScore() {
+            return score;
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeString(index);
+            out.writeString(id);
+            out.writeFloat(score);
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            builder.field("_index", index);
+            builder.field("_id", id);
+            builder.field("_score", score);
+            builder.endObject();
+            return builder;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Hit that = (Hit) o;
+            return Float.compare(score, that.score) == 0 &&
+                   Objects.equals(index, that.index) &&
+                   Objects.equals(id, that.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(index, id, score);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.plugin.vector.action;
+
+import org.opensearch.action.support.IndicesOptions;
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.core.common.Strings;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.index.query.AbstractQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.plugin.vector.rescorer.MaxSimRescorerBuilder;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestToXContentListener;
+import org.opensearch.search.rescore.RescorerBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.opensearch.rest.RestRequest.Method.GET;
+import static org.opensearch.rest.RestRequest.Method.POST;
+
+/**
+ * REST endpoint of {@link MaxSimBatchRescoreAction}:
+ *
+ * <pre>
+ * POST /{index}/_maxsim/batch_rescore
+ * {
+ *   "queries": [
+ *     { "query": { ... }, "rescore": { "window_size": 100, "maxsim": { ... } }, "size": 10 },
+ *     ...
+ *   ]
+ * }
+ * </pre>
+ */
+public class RestMaxSimBatchRescoreAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "maxsim_batch_rescore_action";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(
+            new Route(GET, "/{index}/_maxsim/batch_rescore"),
+            new Route(POST, "/{index}/_maxsim/batch_rescore")
+        );
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        MaxSimBatchRescoreRequest batchRequest = new MaxSimBatchRescoreRequest(
+            Strings.splitStringByCommaToArray(request.param("index")));
+        batchRequest.indicesOptions(IndicesOptions.fromRequest(request, batchRequest.indicesOptions()));
+        try (XContentParser parser = request.contentParser()) {
+            parseQueries(parser, batchRequest);
+        }
+        return channel -> client.execute(MaxSimBatchRescoreAction.INSTANCE, batchRequest, new RestToXContentListener<>(channel));
+    }
+
+    /**
+     * Parses the "queries" array of the request body into the batch
+     *
+     * @param parser XContentParser positioned before the request body
+     * @param batchRequest Batch to add the queries to
+     * @throws IOException if parsing fails
+     */
+    static void parseQueries(XContentParser parser, MaxSimBatchRescoreRequest batchRequest) throws IOException {
+        if (parser.nextToken() != XContentParser.Token.START_OBJECT) {
+            throw new IllegalArgumentException("Expected a request body object but got " + parser.currentToken());
+        }
+        while (parser.nextToken() != XContentParser.Token.END_OBJECT) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            if (!"queries".equals(fieldName) || parser.currentToken() != XContentParser.Token.START_ARRAY) {
+                throw new IllegalArgumentException("Unknown field [" + fieldName + "], expected a [queries] array");
+            }
+            while (parser.nextToken() != XContentParser.Token.END_ARRAY) {
+                parseQuery(parser, batchRequest);
+            }
+        }
+    }
+
+    /**
+     * Parses one entry of the "queries" array
+     *
+     * @param parser XContentParser positioned at the start of the entry
+     * @param batchRequest Batch to add the query to
+     * @throws IOException if parsing fails
+     */
+    private static void parseQuery(XContentParser parser, MaxSimBatchRescoreRequest batchRequest) throws IOException {
+        if (parser.currentToken() != XContentParser.Token.START_OBJECT) {
+            throw new IllegalArgumentException("Expected a query object but got " + parser.currentToken());
+        }
+        QueryBuilder query = null;
+        RescorerBuilder<?> rescorer = null;
+        int size = MaxSimBatchRescoreRequest.DEFAULT_SIZE;
+        while (parser.nextToken() != XContentParser.Token.END_OBJECT) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            switch (fieldName) {
+                case "query":
+                    query = AbstractQueryBuilder.parseInnerQueryBuilder(parser);
+                    break;
+                case "rescore":
+                    rescorer = RescorerBuilder.parseFromXContent(parser);
+                    break;
+                case "size":
+                    size = parser.intValue();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown field [" + fieldName + "] in query");
+            }
+        }
+        if (query == null) {
+            throw new IllegalArgumentException("Every query requires a [query]");
+        }
+        if (!(rescorer instanceof MaxSimRescorerBuilder)) {
+            throw new IllegalArgumentException("Every query requires a [" + MaxSimRescorerBuilder.NAME + "] rescorer");
+        }
+        batchRequest.add(query, (MaxSimRescorerBuilder) rescorer, size);
+    }
+}
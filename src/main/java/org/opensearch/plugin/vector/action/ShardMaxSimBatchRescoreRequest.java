@@ -0,0 +1,68 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.plugin.vector.action;
+
+import org.opensearch.action.support.broadcast.BroadcastShardRequest;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.search.internal.AliasFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The queries of a {@link MaxSimBatchRescoreRequest}, sent to one shard
+ */
+public class ShardMaxSimBatchRescoreRequest extends BroadcastShardRequest {
+
+    private final List<MaxSimBatchRescoreRequest.Item> items;
+    private final AliasFilter filteringAliases;
+    private final long nowInMillis;
+
+    ShardMaxSimBatchRescoreRequest(ShardId shardId, AliasFilter filteringAliases, MaxSimBatchRescoreRequest request) {
+        super(shardId, request);
+        this.items = request.items();
+        this.filteringAliases = filteringAliases;
+        this.nowInMillis = request.nowInMillis();
+    }
+
+    /**
+     * Reads ShardMaxSimBatchRescoreRequest from a stream
+     *
+     * @param in StreamInput to read from
+     * @throws IOException if reading from stream fails
+     */
+    public ShardMaxSimBatchRescoreRequest(StreamInput in) throws IOException {
+        super(in);
+        items = in.readList(MaxSimBatchRescoreRequest.Item::new);
+        filteringAliases = new AliasFilter(in);
+        nowInMillis = in.readVLong();
+    }
+
+    public List<MaxSimBatchRescoreRequest.Item> items() {
+        return items;
+    }
+
+    /**
+     * @return Filter of the aliases the request resolved through to this shard's index
+     */
+    public AliasFilter filteringAliases() {
+        return filteringAliases;
+    }
+
+    public long nowInMillis() {
+        return nowInMillis;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeList(items);
+        filteringAliases.writeTo(out);
+        out.writeVLong(nowInMillis);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.plugin.vector.action;
+
+import org.opensearch.action.support.broadcast.BroadcastShardResponse;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.plugin.vector.action.MaxSimBatchRescoreResponse.Hit;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The best rescored hits of one shard for every query of a batch
+ */
+public class ShardMaxSimBatchRescoreResponse extends BroadcastShardResponse {
+
+    private final List<List<Hit>> hits;
+
+    ShardMaxSimBatchRescoreResponse(ShardId shardId, List<List<Hit>> hits) {
+        super(shardId);
+        this.hits = hits;
+    }
+
+    /**
+     * Reads ShardMaxSimBatchRescoreResponse from a stream
+     *
+     * @param in StreamInput to read from
+     * @throws IOException if reading from stream fails
+     */
+    public ShardMaxSimBatchRescoreResponse(StreamInput in) throws IOException {
+        super(in);
+        hits = in.readList(input -> input.readList(Hit::new));
+    }
+
+    /**
+     * @return Rescored hits of each query on this shard, best first
+     */
+    public List<List<Hit>> getHits() {
+        return hits;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeCollection(hits, StreamOutput::writeList);
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.plugin.vector.action;
+
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.broadcast.BroadcastShardOperationFailedException;
+import org.opensearch.action.support.broadcast.TransportBroadcastAction;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.block.ClusterBlockException;
+import org.opensearch.cluster.block.ClusterBlockLevel;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.routing.GroupShardsIterator;
+import org.opensearch.cluster.routing.ShardIterator;
+import org.opensearch.cluster.routing.ShardRouting;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.lucene.search.Queries;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.action.support.DefaultShardOperationFailedException;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.index.IndexService;
+import org.opensearch.index.engine.Engine;
+import org.opensearch.index.fieldvisitor.FieldsVisitor;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryShardContext;
+import org.opensearch.index.query.Rewriteable;
+import org.opensearch.index.shard.IndexShard;
+import org.opensearch.indices.IndicesService;
+import org.opensearch.plugin.vector.action.MaxSimBatchRescoreResponse.Hit;
+import org.opensearch.plugin.vector.rescorer.MaxSimBatchRescorer;
+import org.opensearch.plugin.vector.rescorer.MaxSimRescorerBuilder.MaxSimRescoreContext;
+import org.opensearch.search.SearchService;
+import org.opensearch.search.internal.AliasFilter;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Runs a {@link MaxSimBatchRescoreRequest} on one copy of every shard of the target indices.
+ * Each shard runs the first-stage query of every item, rescores all rescoring windows together
+ * with {@link MaxSimBatchRescorer}, so documents shared between windows are loaded once, and
+ * returns its best hits per query. The coordinating node merges them into the top hits of each query.
+ *
+ * First-stage queries are filtered like a regular search: to the documents of filtered aliases
+ * the request went through, and to root documents on indices with nested mappings.
+ *
+ * Only documents inside a query's rescoring window are returned, so each query gets at most
+ * {@code window_size} hits per shard.
+ */
+public class TransportMaxSimBatchRescoreAction extends TransportBroadcastAction<
+    MaxSimBatchRescoreRequest,
+    MaxSimBatchRescoreResponse,
+    ShardMaxSimBatchRescoreRequest,
+    ShardMaxSimBatchRescoreResponse> {
+
+    private final IndicesService indicesService;
+    private final SearchService searchService;
+
+    @Inject
+    public TransportMaxSimBatchRescoreAction(
+        ClusterService clusterService,
+        TransportService transportService,
+        IndicesService indicesService,
+        SearchService searchService,
+        ActionFilters actionFilters,
+        IndexNameExpressionResolver indexNameExpressionResolver
+    ) {
+        super(
+            MaxSimBatchRescoreAction.NAME,
+            clusterService,
+            transportService,
+            actionFilters,
+            indexNameExpressionResolver,
+            MaxSimBatchRescoreRequest::new,
+            ShardMaxSimBatchRescoreRequest::new,
+            ThreadPool.Names.SEARCH
+        );
+        this.indicesService = indicesService;
+        this.searchService = searchService;
+    }
+
+    @Override
+    protected void doExecute(Task task, MaxSimBatchRescoreRequest request, ActionListener<MaxSimBatchRescoreResponse> listener) {
+        // All shards resolve "now" in queries the same way
+        request.nowInMillis(System.currentTimeMillis());
+        super.doExecute(task, request, listener);
+    }
+
+    @Override
+    protected ShardMaxSimBatchRescoreRequest newShardRequest(int numShards, ShardRouting shard,
+                                                             MaxSimBatchRescoreRequest request) {
+        final ClusterState clusterState = clusterService.state();
+        final Set<String> indicesAndAliases = indexNameExpressionResolver.resolveExpressions(clusterState, request.indices());
+        final AliasFilter aliasFilter = searchService.buildAliasFilter(clusterState, shard.getIndexName(), indicesAndAliases);
+        return new ShardMaxSimBatchRescoreRequest(shard.shardId(), aliasFilter, request);
+    }
+
+    @Override
+    protected ShardMaxSimBatchRescoreResponse readShardResponse(StreamInput in) throws IOException {
+        return new ShardMaxSimBatchRescoreResponse(in);
+    }
+
+    @Override
+    protected ShardMaxSimBatchRescoreResponse shardOperation(ShardMaxSimBatchRescoreRequest request, Task task)
+        throws IOException {
+        IndexService indexService = indicesService.indexServiceSafe(request.shardId().getIndex());
+        IndexShard indexShard = indexService.getShard(request.shardId().id());
+        List<MaxSimBatchRescoreRequest.Item> items = request.items();
+
+        try (Engine.Searcher searcher = indexShard.acquireSearcher("maxsim_batch_rescore")) {
+            QueryShardContext queryShardContext = indexService.newQueryShardContext(
+                request.shardId().id(), searcher, request::nowInMillis, null);
+
+            Query aliasFilter = null;
+            QueryBuilder aliasQuery = request.filteringAliases().getQueryBuilder();
+            if (aliasQuery != null) {
+                aliasFilter = queryShardContext.toQuery(Rewriteable.rewrite(aliasQuery, queryShardContext, true)).query();
+            }
+            boolean hasNested = indexService.mapperService().hasNested();
+
+            List<Query> queries = new ArrayList<>(items.size());
+            List<MaxSimRescoreContext> contexts = new ArrayList<>(items.size());
+            for (MaxSimBatchRescoreRequest.Item item : items) {
+                contexts.add((MaxSimRescoreContext) item.rescorer().buildContext(queryShardContext));
+                QueryBuilder query = Rewriteable.rewrite(item.query(), queryShardContext, true);
+                queries.add(buildFilteredQuery(queryShardContext.toQuery(query).query(), aliasFilter, hasNested));
+            }
+            return new ShardMaxSimBatchRescoreResponse(request.shardId(),
+                rescoreShard(searcher, request.shardId().getIndexName(), items, queries, contexts));
+        }
+    }
+
+    /**
+     * Restricts a first-stage query the way a regular search does: to the documents of the
+     * aliases the request went through, and to root documents when the index has nested
+     * mappings, since nested documents have no {@code _id} of their own.
+     *
+     * @param query First-stage query
+     * @param aliasFilter Filter of the aliases the request resolved through, or null
+     * @param hasNested Whether the index has nested mappings
+     * @return The filtered query
+     */
+    static Query buildFilteredQuery(Query query, Query aliasFilter, boolean hasNested) {
+        if (aliasFilter == null && !hasNested) {
+            return query;
+        }
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        builder.add(query, BooleanClause.Occur.MUST);
+        if (hasNested) {
+            builder.add(Queries.newNonNestedFilter(), BooleanClause.Occur.FILTER);
+        }
+        if (aliasFilter != null) {
+            builder.add(aliasFilter, BooleanClause.Occur.FILTER);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Runs the first-stage queries of a batch on one shard and rescores their windows together
+     *
+     * @param searcher Searcher over the shard
+     * @param indexName Name of the index the shard belongs to
+     * @param items Queries of the batch
+     * @param queries Filtered first-stage queries, one per item
+     * @param contexts Rescore contexts, one per item
+     * @return Best rescored hits of each query on the shard
+     * @throws IOException if searching or reading documents fails
+     */
+    static List<List<Hit>> rescoreShard(IndexSearcher searcher, String indexName,
+                                        List<MaxSimBatchRescoreRequest.Item> items,
+                                        List<Query> queries, List<MaxSimRescoreContext> contexts) throws IOException {
+        List<TopDocs> topDocs = new ArrayList<>(items.size());
+        for (int q = 0; q < items.size(); q++) {
+            topDocs.add(searcher.search(queries.get(q), contexts.get(q).getWindowSize()));
+        }
+
+        List<TopDocs> rescored = MaxSimBatchRescorer.INSTANCE.rescore(topDocs, searcher, contexts);
+
+        StoredFields storedFields = searcher.storedFields();
+        List<List<Hit>> hits = new ArrayList<>(items.size());
+        for (int q = 0; q < items.size(); q++) {
+            ScoreDoc[] scoreDocs = rescored.get(q).scoreDocs;
+            Arrays.sort(scoreDocs, (a, b) -> Float.compare(b.score, a.score));
+            int size = Math.min(items.get(q).size(), scoreDocs.length);
+            List<Hit> queryHits = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                FieldsVisitor visitor = new FieldsVisitor(false);
+                storedFields.document(scoreDocs[i].doc, visitor);
+                queryHits.add(new Hit(indexName, visitor.id(), scoreDocs[i].score));
+            }
+            hits.add(queryHits);
+        }
+        return hits;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes") // Raw in the TransportBroadcastAction signature
+    protected MaxSimBatchRescoreResponse newResponse(MaxSimBatchRescoreRequest request,
+                                                     AtomicReferenceArray shardsResponses,
+                                                     ClusterState clusterState) {
+        int successfulShards = 0;
+        int failedShards = 0;
+        List<DefaultShardOperationFailedException> shardFailures = new ArrayList<>();
+        List<ShardMaxSimBatchRescoreResponse> responses = new ArrayList<>();
+        for (int i = 0; i < shardsResponses.length(); i++) {
+            Object shardResponse = shardsResponses.get(i);
+            if (shardResponse == null) {
+                continue; // Shard had no active copy
+            }
+            if (shardResponse instanceof BroadcastShardOperationFailedException) {
+                failedShards++;
+                shardFailures.add(new DefaultShardOperationFailedException((BroadcastShardOperationFailedException) shardResponse));
+            } else {
+                successfulShards++;
+                responses.add((ShardMaxSimBatchRescoreResponse) shardResponse);
+            }
+        }
+        return new MaxSimBatchRescoreResponse(shardsResponses.length(), successfulShards, failedShards, shardFailures,
+            mergeHits(request.items(), responses));
+    }
+
+    /**
+     * Merges the per-shard hits of every query into its overall best hits
+     *
+     * @param items Queries of the batch
+     * @param shardResponses Responses of the shards that succeeded
+     * @return Best hits of each query, in the order of {@code items}
+     */
+    static List<List<Hit>> mergeHits(List<MaxSimBatchRescoreRequest.Item> items,
+                                     List<ShardMaxSimBatchRescoreResponse> shardResponses) {
+        List<List<Hit>> merged = new ArrayList<>(items.size());
+        for (int q = 0; q < items.size(); q++) {
+            List<Hit> queryHits = new ArrayList<>();
+            for (ShardMaxSimBatchRescoreResponse shardResponse : shardResponses) {
+                queryHits.addAll(shardResponse.getHits().get(q));
+            }
+            queryHits.sort(Hit.BY_SCORE);
+            merged.add(new ArrayList<>(queryHits.subList(0, Math.min(items.get(q).size(), queryHits.size()))));
+        }
+        return merged;
+    }
+
+    @Override
+    protected GroupShardsIterator<ShardIterator> shards(ClusterState clusterState, MaxSimBatchRescoreRequest request,
+                                                        String[] concreteIndices) {
+        return clusterService.operationRouting().searchShards(clusterState, concreteIndices, null, null);
+    }
+
+    @Override
+    protected ClusterBlockException checkGlobalBlock(ClusterState state, MaxSimBatchRescoreRequest request) {
+        return state.blocks().globalBlockedException(ClusterBlockLevel.READ);
+    }
+
+    @Override
+    protected ClusterBlockException checkRequestBlock(ClusterState state, MaxSimBatchRescoreRequest request,
+                                                      String[] concreteIndices) {
+        return state.blocks().indicesBlockedException(ClusterBlockLevel.READ, concreteIndices);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.plugin.vector.rescorer;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.opensearch.plugin.vector.util.DocumentPage;
+import org.opensearch.plugin.vector.util.PageAggregation;
+import org.opensearch.plugin.vector.util.PreparedQuery;
+import org.opensearch.plugin.vector.util.VectorUtils;
+import org.opensearch.plugin.vector.rescorer.MaxSimRescorerBuilder.MaxSimRescoreContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Shard-level batch variant of {@link MaxSimRescorer} for workloads that send many
+ * MaxSim queries at once (e.g. evaluation jobs issuing hundreds of queries). The rescoring
+ * windows of all queries are merged, so a document that appears in several windows has its
+ * token vectors loaded and decoded once and is scored against every query that needs it in
+ * a single pass. Batches are sent through
+ * {@link org.opensearch.plugin.vector.action.MaxSimBatchRescoreAction}.
+ *
+ * The result for each query is identical to running {@link MaxSimRescorer} on it alone.
+ */
+public class MaxSimBatchRescorer {
+
+    public static final MaxSimBatchRescorer INSTANCE = new MaxSimBatchRescorer();
+
+    /**
+     * Position of a document within the rescoring window of one query of the batch
+     */
+    private static class WindowSlot {
+        final int query;
+        final ScoreDoc scoreDoc;
+
+        WindowSlot(int query, ScoreDoc scoreDoc) {
+            this.query = query;
+            this.scoreDoc = scoreDoc;
+        }
+    }
+
+    /**
+     * Rescores the top documents of several MaxSim queries against the same shard.
+     * All contexts must target the same field, sum the same number of best pages and agree on
+     * page pruning, since that is what allows document pages to be shared between them;
+     * similarity functions may differ.
+     *
+     * @param topDocs First-stage results, one per query
+     * @param searcher Searcher over the shard
+     * @param contexts Rescore contexts, one per query, in the same order as {@code topDocs}
+     * @return Rescored results, one per query, in the same order as {@code topDocs}
+     * @throws IOException if reading document vectors fails
+     */
+    public List<TopDocs> rescore(List<TopDocs> topDocs, IndexSearcher searcher,
+                                 List<MaxSimRescoreContext> contexts) throws IOException {
+        if (topDocs.size() != contexts.size()) {
+            throw new IllegalArgumentException(
+                "Expected one rescore context per query but got " + contexts.size() + " for " + topDocs.size() + " queries");
+        }
+        if (contexts.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String field = contexts.get(0).getField();
+        PageAggregation pageAggregation = contexts.get(0).getPageAggregation();
+        int pageTopK = contexts.get(0).getPageTopK();
+        int pagesToSum = pageAggregation.pagesToSum(pageTopK);
+        boolean pagePruning = contexts.get(0).isPagePruning();
+        PreparedQuery[] queries = new PreparedQuery[contexts.size()];
+        for (int q = 0; q < contexts.size(); q++) {
+            MaxSimRescoreContext context = contexts.get(q);
+            if (!field.equals(context.getField())) {
+                throw new IllegalArgumentException(
+                    "All queries of a batch must use the same field, expected [" + field + "] but got [" + context.getField() + "]");
+            }
+            // max ignores page_top_k, so only the number of pages each query sums has to match
+            int contextPagesToSum = context.getPageAggregation().pagesToSum(context.getPageTopK());
+            if (pagesToSum != contextPagesToSum) {
+                throw new IllegalArgumentException(
+                    "All queries of a batch must sum the same number of best pages, expected [" + pagesToSum
+                        + "] but got [" + contextPagesToSum + "]");
+            }
+            if (pagePruning != context.isPagePruning()) {
+                throw new IllegalArgumentException(
+                    "All queries of a batch must use the same page pruning, expected [" + pagePruning
+                        + "] but got [" + context.isPagePruning() + "]");
+            }
+            queries[q] = context.getPreparedQuery();
+        }
+
+        // Copy the scoreDocs of every query and index the rescoring windows by document,
+        // so each document is visited once however many windows it appears in
+        List<ScoreDoc[]> results = new ArrayList<>(topDocs.size());
+        Map<Integer, List<WindowSlot>> windows = new TreeMap<>();
+        for (int q = 0; q < topDocs.size(); q++) {
+            ScoreDoc[] original = topDocs.get(q).scoreDocs;
+            ScoreDoc[] scoreDocs = new ScoreDoc[original.length];
+            for (int i = 0; i < original.length; i++) {
+                scoreDocs[i] = new ScoreDoc(original[i].doc, original[i].score, original[i].shardIndex);
+            }
+            results.add(scoreDocs);
+
+            int windowSize = Math.min(contexts.get(q).getWindowSize(), scoreDocs.length);
+            for (int i = 0; i < windowSize; i++) {
+                windows.computeIfAbsent(scoreDocs[i].doc, k -> new ArrayList<>()).add(new WindowSlot(q, scoreDocs[i]));
+            }
+        }
+
+        // Documents are visited in increasing docId order, so the segment cursor only moves forward
+        List<LeafReaderContext> leaves = searcher.getIndexReader().leaves();
+        int leafIndex = 0;
+        for (Map.Entry<Integer, List<WindowSlot>> entry : windows.entrySet()) {
+            int docId = entry.getKey();
+            while (leafIndex < leaves.size()
+                && docId >= leaves.get(leafIndex).docBase + leaves.get(leafIndex).reader().maxDoc()) {
+                leafIndex++;
+            }
+            if (leafIndex == leaves.size()) {
+                break; // Remaining documents are past the last segment
+            }
+            LeafReaderContext leaf = leaves.get(leafIndex);
+            if (docId < leaf.docBase) {
+                continue; // Skip if we can't find the document
+            }
+
+            List<WindowSlot> slots = entry.getValue();
+            PreparedQuery[] batch = new PreparedQuery[slots.size()];
+            for (int s = 0; s < slots.size(); s++) {
+                batch[s] = queries[slots.get(s).query];
+            }
+
+            List<DocumentPage> pages = MaxSimRescorer.getDocumentPages(leaf, docId - leaf.docBase, field);
+            float[] maxSimScores = VectorUtils.computePagedMaxSimBatch(batch, pages, pageAggregation, pageTopK,
+                pagePruning);
+
+            for (int s = 0; s < slots.size(); s++) {
+                WindowSlot slot = slots.get(s);
+                float weight = contexts.get(slot.query).getQueryWeight();
+                slot.scoreDoc.score = MaxSimRescorer.combineScores(slot.scoreDoc.score, maxSimScores[s], weight);
+            }
+        }
+
+        List<TopDocs> rescored = new ArrayList<>(topDocs.size());
+        for (int q = 0; q < topDocs.size(); q++) {
+            rescored.add(new TopDocs(topDocs.get(q).totalHits, results.get(q)));
+        }
+        return rescored;
+    }
+}
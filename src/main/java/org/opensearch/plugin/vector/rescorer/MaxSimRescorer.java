@@ -10,6 +10,8 @@ import org.apache.lucene.search.Explanation;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.TopDocs;
+import org.opensearch.plugin.vector.util.DocumentPage;
+import org.opensearch.plugin.vector.util.PreparedQuery;
 import org.opensearch.plugin.vector.util.VectorUtils;
 import org.opensearch.search.rescore.Rescorer;
 import org.opensearch.search.rescore.RescoreContext;
@@ -29,9 +31,8 @@ public class MaxSimRescorer implements Rescorer {
     @Override
     public TopDocs rescore(TopDocs topDocs, IndexSearcher searcher, RescoreContext context) throws IOException {
         MaxSimRescoreContext maxSimContext = (MaxSimRescoreContext) context;
-        List<List<Float>> queryVectors = maxSimContext.getQueryVectors();
+        PreparedQuery preparedQuery = maxSimContext.getPreparedQuery();
         String field = maxSimContext.getField();
-        String similarity = maxSimContext.getSimilarity();
         
         // Make a copy of the scoreDocs array so we can modify the scores
         ScoreDoc[] scoreDocs = new ScoreDoc[topDocs.scoreDocs.length];
@@ -52,40 +53,70 @@ public class MaxSimRescorer implements Rescorer {
             int docId = scoreDoc.doc;
             
             // Find the right segment for this document
-            LeafReaderContext leaf = null;
-            int leafDocId = docId;
-            for (LeafReaderContext ctx : leaves) {
-                if (docId >= ctx.docBase && docId < ctx.docBase + ctx.reader().maxDoc()) {
-                    leaf = ctx;
-                    leafDocId = docId - ctx.docBase;
-                    break;
-                }
-            }
-            
+            LeafReaderContext leaf = findLeaf(leaves, docId);
             if (leaf == null) {
                 continue; // Skip if we can't find the document
             }
             
-            // In a real implementation, we would retrieve document vectors here
-            // For now, we'll use placeholder vectors for demonstration
-            List<List<Float>> docVectors = getPlaceholderDocumentVectors(leafDocId);
+            List<DocumentPage> pages = getDocumentPages(leaf, docId - leaf.docBase, field);
             
-            // Calculate MaxSim score
-            float maxSimScore = VectorUtils.computeMaxSim(queryVectors, docVectors, similarity);
+            // Calculate MaxSim score, skipping pages that cannot change it if page pruning is on
+            float maxSimScore = VectorUtils.computePagedMaxSim(preparedQuery, pages,
+                maxSimContext.getPageAggregation(), maxSimContext.getPageTopK(), maxSimContext.isPagePruning());
             
             // Combine with original score based on weight
-            float weight = 1.0f; // Default weight
-            if (context instanceof MaxSimRescorerBuilder.MaxSimRescoreContext) {
-                weight = ((MaxSimRescorerBuilder.MaxSimRescoreContext) context).getQueryWeight();
-            }
-            float originalScore = scoreDoc.score;
-            scoreDoc.score = (1 - weight) * originalScore + weight * maxSimScore;
+            scoreDoc.score = combineScores(scoreDoc.score, maxSimScore, maxSimContext.getQueryWeight());
         }
         
         // Create new TopDocs with rescored documents
         return new TopDocs(topDocs.totalHits, scoreDocs);
     }
 
+    /**
+     * Finds the segment containing the given top-level document ID
+     *
+     * @param leaves Segments of the index reader, ordered by docBase
+     * @param docId Top-level document ID
+     * @return The containing segment, or null if the document is out of range
+     */
+    static LeafReaderContext findLeaf(List<LeafReaderContext> leaves, int docId) {
+        for (LeafReaderContext ctx : leaves) {
+            if (docId >= ctx.docBase && docId < ctx.docBase + ctx.reader().maxDoc()) {
+                return ctx;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Combines the first-stage score with the MaxSim score based on the query weight
+     *
+     * @param originalScore Score from the first stage
+     * @param maxSimScore MaxSim score
+     * @param weight Weight given to the MaxSim score
+     * @return The combined score
+     */
+    static float combineScores(float originalScore, float maxSimScore, float weight) {
+        return (1 - weight) * originalScore + weight * maxSimScore;
+    }
+
+    /**
+     * Loads the token vectors of a document from the given segment, one decoded page per
+     * token matrix. Documents with a single token matrix have a single page.
+     * Shared by the single-query and batch rescorers so both read vectors the same way.
+     *
+     * @param leaf Segment containing the document
+     * @param leafDocId Segment-local document ID
+     * @param field Field containing document token vectors
+     * @return Pages of document token vectors
+     * @throws IOException if reading from the segment fails
+     */
+    static List<DocumentPage> getDocumentPages(LeafReaderContext leaf, int leafDocId, String field) throws IOException {
+        // In a real implementation, we would retrieve document vectors here
+        // For now, we'll use placeholder vectors for demonstration
+        return List.of(DocumentPage.of(getPlaceholderDocumentVectors(leafDocId)));
+    }
+
     /**
      * Placeholder method that returns mock document vectors for demonstration
      * In a real implementation, this would retrieve vectors from the index
@@ -93,7 +124,7 @@ public class MaxSimRescorer implements Rescorer {
      * @param docId The document ID
      * @return List of document token vectors
      */
-    private List<List<Float>> getPlaceholderDocumentVectors(int docId) {
+    private static List<List<Float>> getPlaceholderDocumentVectors(int docId) {
         // In a real implementation, we would retrieve actual vectors from the document
         // For now, return placeholder vectors to demonstrate the concept
         return List.of(
@@ -107,47 +138,36 @@ public class MaxSimRescorer implements Rescorer {
     public Explanation explain(int docId, IndexSearcher searcher, RescoreContext context,
                              Explanation sourceExplanation) throws IOException {
         MaxSimRescoreContext maxSimContext = (MaxSimRescoreContext) context;
-        List<List<Float>> queryVectors = maxSimContext.getQueryVectors();
+        PreparedQuery preparedQuery = maxSimContext.getPreparedQuery();
         String field = maxSimContext.getField();
         String similarity = maxSimContext.getSimilarity();
         
         List<LeafReaderContext> leaves = searcher.getIndexReader().leaves();
         
         // Find the right segment for this document
-        LeafReaderContext leaf = null;
-        int leafDocId = docId;
-        for (LeafReaderContext ctx : leaves) {
-            if (docId >= ctx.docBase && docId < ctx.docBase + ctx.reader().maxDoc()) {
-                leaf = ctx;
-                leafDocId = docId - ctx.docBase;
-                break;
-            }
-        }
-        
+        LeafReaderContext leaf = findLeaf(leaves, docId);
         if (leaf == null) {
             return Explanation.noMatch("Document not found");
         }
         
-        // Get document vectors (placeholder for now)
-        List<List<Float>> docVectors = getPlaceholderDocumentVectors(leafDocId);
+        List<DocumentPage> pages = getDocumentPages(leaf, docId - leaf.docBase, field);
         
         // Calculate MaxSim score
-        float maxSimScore = VectorUtils.computeMaxSim(queryVectors, docVectors, similarity);
+        float maxSimScore = VectorUtils.computePagedMaxSim(preparedQuery, pages,
+            maxSimContext.getPageAggregation(), maxSimContext.getPageTopK(), maxSimContext.isPagePruning());
         
         // Calculate final score with weight
-        float weight = 1.0f; // Default weight
-        if (context instanceof MaxSimRescorerBuilder.MaxSimRescoreContext) {
-            weight = ((MaxSimRescorerBuilder.MaxSimRescoreContext) context).getQueryWeight();
-        }
+        float weight = maxSimContext.getQueryWeight();
         float originalScore = sourceExplanation.getValue().floatValue();
-        float finalScore = (1 - weight) * originalScore + weight * maxSimScore;
+        float finalScore = combineScores(originalScore, maxSimScore, weight);
         
         return Explanation.match(
             finalScore,
             String.format("MaxSim rescoring: (original=%.2f * (1-weight=%.2f)) + (maxsim=%.2f * weight=%.2f)",
                          originalScore, weight, maxSimScore, weight),
             List.of(sourceExplanation, 
-                    Explanation.match(maxSimScore, "MaxSim score using " + similarity + " similarity"))
+                    Explanation.match(maxSimScore, "MaxSim score using " + similarity + " similarity and "
+                        + maxSimContext.getPageAggregation().getName() + " page aggregation"))
         );
     }
 }
@@ -15,6 +15,8 @@ import org.opensearch.xcontent.XContentParser;
 import org.opensearch.search.rescore.RescorerBuilder;
 import org.opensearch.search.rescore.RescoreContext;
 import org.opensearch.index.query.QueryShardContext;
+import org.opensearch.plugin.vector.util.PageAggregation;
+import org.opensearch.plugin.vector.util.PreparedQuery;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -35,10 +37,20 @@ public class MaxSimRescorerBuilder extends RescorerBuilder<MaxSimRescorerBuilder
     private static final ParseField QUERY_VECTORS_FIELD = new ParseField("query_vectors");
     private static final ParseField FIELD_FIELD = new ParseField("field");
     private static final ParseField SIMILARITY_FIELD = new ParseField("similarity");
+    private static final ParseField PAGE_AGGREGATION_FIELD = new ParseField("page_aggregation");
+    private static final ParseField PAGE_TOP_K_FIELD = new ParseField("page_top_k");
+    private static final ParseField PAGE_PRUNING_FIELD = new ParseField("page_pruning");
+
+    public static final int DEFAULT_PAGE_TOP_K = 3;
 
     private final List<List<Float>> queryVectors;
     private final String field;
     private final String similarity;
+    private final PageAggregation pageAggregation;
+    private final int pageTopK;
+    private final boolean pagePruning;
+    // Unboxed and hashed once, when the query vectors are parsed or read from the wire
+    private final PreparedQueryCache.Key cacheKey;
 
     @SuppressWarnings("unchecked")
     private static final ConstructingObjectParser<MaxSimRescorerBuilder, Void> PARSER = new ConstructingObjectParser<>(
@@ -46,7 +58,10 @@ public class MaxSimRescorerBuilder extends RescorerBuilder<MaxSimRescorerBuilder
         a -> new MaxSimRescorerBuilder(
             (List<List<Float>>) a[0],
             (String) a[1],
-            a[2] == null ? "dot_product" : (String) a[2]
+            a[2] == null ? "dot_product" : (String) a[2],
+            a[3] == null ? PageAggregation.MAX : PageAggregation.fromString((String) a[3]),
+            a[4] == null ? DEFAULT_PAGE_TOP_K : (Integer) a[4],
+            a[5] != null && (Boolean) a[5]
         )
     );
 
@@ -59,6 +74,9 @@ public class MaxSimRescorerBuilder extends RescorerBuilder<MaxSimRescorerBuilder
         );
         PARSER.declareString(constructorArg(), FIELD_FIELD);
         PARSER.declareString(optionalConstructorArg(), SIMILARITY_FIELD);
+        PARSER.declareString(optionalConstructorArg(), PAGE_AGGREGATION_FIELD);
+        PARSER.declareInt(optionalConstructorArg(), PAGE_TOP_K_FIELD);
+        PARSER.declareBoolean(optionalConstructorArg(), PAGE_PRUNING_FIELD);
     }
 
     /**
@@ -69,9 +87,45 @@ public class MaxSimRescorerBuilder extends RescorerBuilder<MaxSimRescorerBuilder
      * @param similarity Similarity function to use (default: dot_product)
      */
     public MaxSimRescorerBuilder(List<List<Float>> queryVectors, String field, String similarity) {
+        this(queryVectors, field, similarity, PageAggregation.MAX, DEFAULT_PAGE_TOP_K);
+    }
+
+    /**
+     * Creates a new MaxSimRescorerBuilder for documents that may hold several pages of token vectors
+     *
+     * @param queryVectors List of query token vectors
+     * @param field Field containing document token vectors
+     * @param similarity Similarity function to use (default: dot_product)
+     * @param pageAggregation How the scores of a document's pages are combined (default: max)
+     * @param pageTopK Number of best pages summed by top_k_sum (default: 3)
+     */
+    public MaxSimRescorerBuilder(List<List<Float>> queryVectors, String field, String similarity,
+                                 PageAggregation pageAggregation, int pageTopK) {
+        this(queryVectors, field, similarity, pageAggregation, pageTopK, false);
+    }
+
+    /**
+     * Creates a new MaxSimRescorerBuilder for documents that may hold several pages of token vectors
+     *
+     * @param queryVectors List of query token vectors
+     * @param field Field containing document token vectors
+     * @param similarity Similarity function to use (default: dot_product)
+     * @param pageAggregation How the scores of a document's pages are combined (default: max)
+     * @param pageTopK Number of best pages summed by top_k_sum (default: 3)
+     * @param pagePruning Whether to skip pages that cannot change a document's score (default: false)
+     */
+    public MaxSimRescorerBuilder(List<List<Float>> queryVectors, String field, String similarity,
+                                 PageAggregation pageAggregation, int pageTopK, boolean pagePruning) {
         this.queryVectors = Objects.requireNonNull(queryVectors, "query_vectors must not be null");
         this.field = Objects.requireNonNull(field, "field must not be null");
         this.similarity = similarity == null ? "dot_product" : similarity;
+        this.pageAggregation = pageAggregation == null ? PageAggregation.MAX : pageAggregation;
+        if (pageTopK < 1) {
+            throw new IllegalArgumentException("page_top_k must be at least 1 but was " + pageTopK);
+        }
+        this.pageTopK = pageTopK;
+        this.pagePruning = pagePruning;
+        this.cacheKey = PreparedQueryCache.Key.of(this.queryVectors, this.similarity);
     }
 
     /**
@@ -84,16 +138,27 @@ public class MaxSimRescorerBuilder extends RescorerBuilder<MaxSimRescorerBuilder
         super(in);
         int vectorsSize = in.readVInt();
         queryVectors = new ArrayList<>(vectorsSize);
+        float[][] vectors = new float[vectorsSize][];
+        PreparedQueryCache.Hasher hasher = new PreparedQueryCache.Hasher();
         for (int i = 0; i < vectorsSize; i++) {
             int vectorDimension = in.readVInt();
             List<Float> vector = new ArrayList<>(vectorDimension);
+            vectors[i] = new float[vectorDimension];
             for (int j = 0; j < vectorDimension; j++) {
-                vector.add(in.readFloat());
+                float value = in.readFloat();
+                vector.add(value);
+                vectors[i][j] = value;
+                hasher.add(value);
             }
+            hasher.endVector();
             queryVectors.add(vector);
         }
         field = in.readString();
         similarity = in.readString();
+        cacheKey = hasher.key(vectors, similarity);
+        pageAggregation = PageAggregation.fromString(in.readString());
+        pageTopK = in.readVInt();
+        pagePruning = in.readBoolean();
     }
 
     /**
@@ -149,6 +214,25 @@ public class MaxSimRescorerBuilder extends RescorerBuilder<MaxSimRescorerBuilder
         }
         out.writeString(field);
         out.writeString(similarity);
+        out.writeString(pageAggregation.getName());
+        out.writeVInt(pageTopK);
+        out.writeBoolean(pagePruning);
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public PageAggregation getPageAggregation() {
+        return pageAggregation;
+    }
+
+    public int getPageTopK() {
+        return pageTopK;
+    }
+
+    public boolean isPagePruning() {
+        return pagePruning;
     }
 
     @Override
@@ -170,13 +254,19 @@ public class MaxSimRescorerBuilder extends RescorerBuilder<MaxSimRescorerBuilder
         builder.endArray();
         builder.field(FIELD_FIELD.getPreferredName(), field);
         builder.field(SIMILARITY_FIELD.getPreferredName(), similarity);
+        builder.field(PAGE_AGGREGATION_FIELD.getPreferredName(), pageAggregation.getName());
+        builder.field(PAGE_TOP_K_FIELD.getPreferredName(), pageTopK);
+        builder.field(PAGE_PRUNING_FIELD.getPreferredName(), pagePruning);
         builder.endObject();
         return builder;
     }
 
     @Override
     protected RescoreContext innerBuildContext(int windowSize, QueryShardContext context) {
-        return new MaxSimRescoreContext(windowSize, this, queryVectors, field, similarity);
+        // Shards on the same node share one prepared copy of the query
+        PreparedQuery preparedQuery = PreparedQueryCache.getInstance().getOrPrepare(cacheKey);
+        return new MaxSimRescoreContext(windowSize, this, queryVectors, preparedQuery, field, similarity,
+                                        pageAggregation, pageTopK, pagePruning);
     }
     
     /**
@@ -184,21 +274,35 @@ public class MaxSimRescorerBuilder extends RescorerBuilder<MaxSimRescorerBuilder
      */
     public static class MaxSimRescoreContext extends RescoreContext {
         private final List<List<Float>> queryVectors;
+        private final PreparedQuery preparedQuery;
         private final String field;
         private final String similarity;
+        private final PageAggregation pageAggregation;
+        private final int pageTopK;
+        private final boolean pagePruning;
         
         public MaxSimRescoreContext(int windowSize, RescorerBuilder<?> rescorerBuilder, 
-                                 List<List<Float>> queryVectors, String field, String similarity) {
+                                 List<List<Float>> queryVectors, PreparedQuery preparedQuery,
+                                 String field, String similarity,
+                                 PageAggregation pageAggregation, int pageTopK, boolean pagePruning) {
             super(windowSize, rescorerBuilder);
             this.queryVectors = queryVectors;
+            this.preparedQuery = preparedQuery;
             this.field = field;
             this.similarity = similarity;
+            this.pageAggregation = pageAggregation;
+            this.pageTopK = pageTopK;
+            this.pagePruning = pagePruning;
         }
         
         public List<List<Float>> getQueryVectors() {
             return queryVectors;
         }
         
+        public PreparedQuery getPreparedQuery() {
+            return preparedQuery;
+        }
+        
         public String getField() {
             return field;
         }
@@ -207,6 +311,18 @@ public class MaxSimRescorerBuilder extends RescorerBuilder<MaxSimRescorerBuilder
             return similarity;
         }
         
+        public PageAggregation getPageAggregation() {
+            return pageAggregation;
+        }
+        
+        public int getPageTopK() {
+            return pageTopK;
+        }
+        
+        public boolean isPagePruning() {
+            return pagePruning;
+        }
+        
         public float getQueryWeight() {
             return 1.0f; // Default weight, can be made configurable if needed
         }
@@ -220,12 +336,15 @@ public class MaxSimRescorerBuilder extends RescorerBuilder<MaxSimRescorerBuilder
         MaxSimRescorerBuilder that = (MaxSimRescorerBuilder) o;
         return Objects.equals(queryVectors, that.queryVectors) &&
                Objects.equals(field, that.field) &&
-               Objects.equals(similarity, that.similarity);
+               Objects.equals(similarity, that.similarity) &&
+               pageAggregation == that.pageAggregation &&
+               pageTopK == that.pageTopK &&
+               pagePruning == that.pagePruning;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), queryVectors, field, similarity);
+        return Objects.hash(super.hashCode(), queryVectors, field, similarity, pageAggregation, pageTopK, pagePruning);
     }
 
     /**
@@ -0,0 +1,282 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.plugin.vector.rescorer;
+
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.common.unit.ByteSizeUnit;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.plugin.vector.util.PreparedQuery;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiFunction;
+
+/**
+ * Node-level cache of {@link PreparedQuery} instances. Every shard of a search builds its
+ * own rescore context, so without this cache each shard on a node would repeat the same
+ * query preparation. Entries are keyed by a content hash of the query vectors and the
+ * similarity function, and bounded by their approximate heap usage.
+ *
+ * The key is computed once, while the query vectors are read from the wire or parsed
+ * (see {@link Key}). Each shard still pays for building it, and preparation today is
+ * only a normalization (cosine) or nothing at all (dot_product, whose prepared query
+ * reuses the key's arrays), so a hit saves about as much as the key costs. The cache
+ * pays off once heavier preparation steps exist. Concurrent requests for the same key
+ * are single-flight: one caller prepares the query while the others wait for and share
+ * its result.
+ *
+ * The cache is created by {@link org.opensearch.plugin.vector.LateInteractionPlugin} when
+ * the node starts and released when the plugin closes. Nodes sharing a JVM (as in
+ * integration tests) share one cache and must agree on its size.
+ */
+public class PreparedQueryCache {
+
+    public static final Setting<ByteSizeValue> CACHE_SIZE_SETTING = Setting.byteSizeSetting(
+        "late_interaction.prepared_query_cache.size",
+        new ByteSizeValue(32, ByteSizeUnit.MB),
+        Setting.Property.NodeScope
+    );
+
+    private static PreparedQueryCache instance;
+    private static int references;
+
+    private final ByteSizeValue maxSize;
+    private final BiFunction<float[][], String, PreparedQuery> preparer;
+    private final Cache<Key, PreparedQuery> cache;
+
+    PreparedQueryCache(ByteSizeValue maxSize) {
+        this(maxSize, PreparedQuery::prepare);
+    }
+
+    PreparedQueryCache(ByteSizeValue maxSize, BiFunction<float[][], String, PreparedQuery> preparer) {
+        this.maxSize = maxSize;
+        this.preparer = preparer;
+        this.cache = CacheBuilder.<Key, PreparedQuery>builder()
+            .setMaximumWeight(maxSize.getBytes())
+            // dot_product queries score with the key's own arrays, which are only charged once
+            .weigher((key, query) -> key.ramBytesUsed(query.isBackedBy(key.vectors)) + query.ramBytesUsed())
+            .build();
+    }
+
+    /**
+     * Creates the node-level cache from node settings, or joins the existing one when
+     * another node in the same JVM already created it with the same size.
+     * Every call must be matched by a call to {@link #release()}.
+     *
+     * @param settings Node settings
+     * @return The node-level cache
+     * @throws IllegalStateException if the cache already exists with a different size
+     */
+    public static synchronized PreparedQueryCache initialize(Settings settings) {
+        ByteSizeValue maxSize = CACHE_SIZE_SETTING.get(settings);
+        if (instance == null) {
+            instance = new PreparedQueryCache(maxSize);
+        } else if (instance.maxSize.getBytes() != maxSize.getBytes()) {
+            throw new IllegalStateException(
+                "Prepared query cache already initialized with [" + CACHE_SIZE_SETTING.getKey() + "="
+                    + instance.maxSize + "], cannot initialize it again with [" + maxSize + "]");
+        }
+        references++;
+        return instance;
+    }
+
+    /**
+     * Releases one reference taken by {@link #initialize(Settings)}, clearing the cache
+     * when the last node using it closes.
+     */
+    public static synchronized void release() {
+        if (instance == null) {
+            return;
+        }
+        if (--references == 0) {
+            instance.clear();
+            instance = null;
+        }
+    }
+
+    /**
+     * @return The node-level cache
+     * @throws IllegalStateException if the plugin has not initialized the cache
+     */
+    public static synchronized PreparedQueryCache getInstance() {
+        if (instance == null) {
+            throw new IllegalStateException("Prepared query cache has not been initialized");
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the prepared form of the given query, preparing it if no shard on this node has yet.
+     *
+     * @param key Content key of the query, computed when the query vectors were read
+     * @return The shared prepared query
+     */
+    public PreparedQuery getOrPrepare(Key key) {
+        try {
+            return cache.computeIfAbsent(key, k -> preparer.apply(k.vectors, k.similarity));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to prepare MaxSim query", e.getCause());
+        }
+    }
+
+    /**
+     * @return Number of prepared queries currently cached
+     */
+    public int count() {
+        return cache.count();
+    }
+
+    /**
+     * @return Approximate heap usage of the cached prepared queries and their keys
+     */
+    long weight() {
+        return cache.weight();
+    }
+
+    /**
+     * Removes all cached prepared queries
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Cache key of a query: the unboxed query vectors together with a 128-bit hash of
+     * their content. Keys are built once per query, while the vectors are read. Lookups
+     * compare the hash first and only compare the vectors themselves when it matches, so
+     * a hash collision can never hand a shard another query's prepared form.
+     */
+    public static final class Key {
+        private final float[][] vectors;
+        private final String similarity;
+        private final long hash1;
+        private final long hash2;
+
+        private Key(float[][] vectors, String similarity, long hash1, long hash2) {
+            this.vectors = vectors;
+            this.similarity = similarity;
+            this.hash1 = hash1;
+            this.hash2 = hash2;
+        }
+
+        /**
+         * Builds the key of boxed query vectors, unboxing and hashing them in one pass.
+         *
+         * @param queryVectors List of query token vectors
+         * @param similarity Similarity function to use (dot_product, cosine, etc.)
+         * @return The key
+         */
+        public static Key of(List<List<Float>> queryVectors, String similarity) {
+            Hasher hasher = new Hasher();
+            float[][] vectors = new float[queryVectors.size()][];
+            for (int i = 0; i < vectors.length; i++) {
+                List<Float> vector = queryVectors.get(i);
+                vectors[i] = new float[vector.size()];
+                for (int j = 0; j < vectors[i].length; j++) {
+                    vectors[i][j] = vector.get(j);
+                    hasher.add(vectors[i][j]);
+                }
+                hasher.endVector();
+            }
+            return hasher.key(vectors, similarity);
+        }
+
+        /**
+         * @return Unboxed query vectors of this key
+         */
+        float[][] vectors() {
+            return vectors;
+        }
+
+        /**
+         * @param vectorsShared Whether the prepared query holds this key's vectors, so that
+         *                      they are already accounted for
+         * @return Approximate heap usage of this key
+         */
+        long ramBytesUsed(boolean vectorsShared) {
+            long bytes = 64;
+            if (vectorsShared) {
+                return bytes;
+            }
+            for (float[] vector : vectors) {
+                bytes += 16 + 4L * vector.length;
+            }
+            return bytes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key that = (Key) o;
+            return hash1 == that.hash1 &&
+                   hash2 == that.hash2 &&
+                   similarity.equals(that.similarity) &&
+                   Arrays.deepEquals(vectors, that.vectors);
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (hash1 ^ (hash1 >>> 32));
+        }
+    }
+
+    /**
+     * Incremental 128-bit content hash of query vectors, fed one float at a time while
+     * the vectors are read, with the MurmurHash3 finalizer applied to both halves.
+     */
+    static final class Hasher {
+        private static final long C1 = 0x87c37b91114253d5L;
+        private static final long C2 = 0x4cf5ad432745937fL;
+
+        private long h1 = 0x9368e53c2f6af274L;
+        private long h2 = 0x586dcd208f7cd3fdL;
+        private long length;
+
+        void add(float value) {
+            long k = Float.floatToIntBits(value) & 0xffffffffL;
+            h1 = Long.rotateLeft(h1 ^ (k * C1), 31) * 5 + 0x52dce729;
+            h2 = Long.rotateLeft(h2 ^ (k * C2), 33) * 5 + 0x38495ab5;
+            length++;
+        }
+
+        /**
+         * Marks the end of a vector, so that vectors of different shapes hash differently
+         */
+        void endVector() {
+            h1 = Long.rotateLeft(h1 ^ length, 27) * 5 + 0x52dce729;
+            h2 = Long.rotateLeft(h2 ^ length, 31) * 5 + 0x38495ab5;
+        }
+
+        Key key(float[][] vectors, String similarity) {
+            long a = h1 ^ length;
+            long b = h2 ^ length;
+            a += b;
+            b += a;
+            a = fmix64(a);
+            b = fmix64(b);
+            a += b;
+            b += a;
+            return new Key(vectors, similarity.toLowerCase(), a, b);
+        }
+
+        private static long fmix64(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb9fe1a85ec53L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.plugin.vector.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One token matrix of a document, decoded for scoring. Documents such as multi-page
+ * PDFs hold one page per matrix; single-matrix documents are a single page.
+ *
+ * Besides the token vectors, a page lazily keeps a summary of where its tokens lie: a few
+ * of its tokens picked as centers by farthest-point selection, each with the radius of the
+ * tokens closest to it. The summary gives a cheap upper bound on the page's MaxSim score
+ * ({@link #upperBound(PreparedQuery)}), which lets page pruning skip pages that cannot change
+ * a document's score. Unlike per-dimension ranges, the bound stays tight in high dimensions
+ * as long as a page's tokens form a few clusters, which is typical for pages about a few
+ * topics. Building the summary costs about {@value #SUMMARY_CENTERS} query tokens' worth of
+ * scoring; an index that stores token vectors should compute it at index time instead.
+ *
+ * Instances are meant to be used by a single thread while one document is scored, and may
+ * be shared between the queries of a batch.
+ */
+public final class DocumentPage {
+
+    /**
+     * Maximum number of centers in a page summary
+     */
+    static final int SUMMARY_CENTERS = 8;
+
+    private final float[][] vectors;
+    private float[][] unitVectors;
+    private Summary summary;
+    private Summary unitSummary;
+
+    /**
+     * Centers covering the tokens of a page, each with the largest distance from it to
+     * one of the tokens assigned to it
+     */
+    private static final class Summary {
+        final float[][] centers;
+        final float[] radii;
+
+        Summary(float[][] centers, float[] radii) {
+            this.centers = centers;
+            this.radii = radii;
+        }
+    }
+
+    private DocumentPage(float[][] vectors) {
+        this.vectors = vectors;
+    }
+
+    /**
+     * Decodes a page of document token vectors.
+     *
+     * @param vectors List of document token vectors of the page
+     * @return The decoded page
+     */
+    public static DocumentPage of(List<List<Float>> vectors) {
+        return new DocumentPage(VectorUtils.toArrays(vectors));
+    }
+
+    /**
+     * @return Number of token vectors in the page
+     */
+    public int size() {
+        return vectors.length;
+    }
+
+    /**
+     * @param normalized Whether to return unit-length vectors, as needed by cosine queries
+     * @return Token vectors of the page; callers must not modify them
+     */
+    float[][] vectors(boolean normalized) {
+        if (!normalized) {
+            return vectors;
+        }
+        if (unitVectors == null) {
+            unitVectors = new float[vectors.length][];
+            for (int i = 0; i < vectors.length; i++) {
+                unitVectors[i] = VectorUtils.normalize(vectors[i]);
+            }
+        }
+        return unitVectors;
+    }
+
+    /**
+     * Computes an upper bound of the MaxSim score of the query against this page. Every page
+     * token lies within the radius r of some center c, so the similarity of a query token q
+     * with any page token is at most the largest q&middot;c + |q| r over the centers.
+     *
+     * @param query Prepared query
+     * @return A value no smaller than the MaxSim score of the query against this page
+     */
+    public float upperBound(PreparedQuery query) {
+        if (vectors.length == 0) {
+            // Matches the score of an empty page: no query token finds a match
+            return query.size() == 0 ? 0.0f : Float.NEGATIVE_INFINITY;
+        }
+
+        boolean normalized = query.isNormalized();
+        Summary pageSummary = summary(normalized);
+        float[][] queryVectors = query.vectors();
+
+        float totalBound = 0.0f;
+        for (int t = 0; t < queryVectors.length; t++) {
+            float queryNorm = query.norm(t);
+            float bound = Float.NEGATIVE_INFINITY;
+            for (int c = 0; c < pageSummary.centers.length; c++) {
+                bound = Math.max(bound,
+                    VectorUtils.dotProduct(queryVectors[t], pageSummary.centers[c]) + queryNorm * pageSummary.radii[c]);
+            }
+            // Cosine similarity never exceeds one
+            totalBound += normalized ? Math.min(bound, 1.0f) : bound;
+        }
+        return totalBound;
+    }
+
+    /**
+     * Builds the page summary by farthest-point selection: each new center is the token
+     * farthest from all centers picked so far, and every token is assigned to its nearest
+     * center along the way.
+     *
+     * @param normalized Whether the summary is over unit-length vectors
+     * @return The page summary
+     */
+    private Summary summary(boolean normalized) {
+        Summary cached = normalized ? unitSummary : summary;
+        if (cached != null) {
+            return cached;
+        }
+
+        float[][] pageVectors = vectors(normalized);
+        int dimension = pageVectors[0].length;
+        float[] squaredNorms = new float[pageVectors.length];
+        float maxSquaredNorm = 0.0f;
+        for (int i = 0; i < pageVectors.length; i++) {
+            if (pageVectors[i].length != dimension) {
+                throw new IllegalArgumentException(
+                    "Vector dimensions must match: " + dimension + " vs " + pageVectors[i].length);
+            }
+            squaredNorms[i] = VectorUtils.dotProduct(pageVectors[i], pageVectors[i]);
+            maxSquaredNorm = Math.max(maxSquaredNorm, squaredNorms[i]);
+        }
+        float[] nearestDistance = new float[pageVectors.length];
+        int[] nearestCenter = new int[pageVectors.length];
+        Arrays.fill(nearestDistance, Float.POSITIVE_INFINITY);
+
+        int maxCenters = Math.min(SUMMARY_CENTERS, pageVectors.length);
+        float[][] centers = new float[maxCenters][];
+        int centerCount = 0;
+        int next = 0;
+        while (centerCount < maxCenters) {
+            float[] center = pageVectors[next];
+            float centerSquaredNorm = squaredNorms[next];
+            centers[centerCount] = center;
+
+            float farthestDistance = -1.0f;
+            for (int i = 0; i < pageVectors.length; i++) {
+                // |v - c|^2 expanded, so each pass is a single dot product per token
+                float distance = Math.max(0.0f,
+                    squaredNorms[i] + centerSquaredNorm - 2 * VectorUtils.dotProduct(pageVectors[i], center));
+                if (distance < nearestDistance[i]) {
+                    nearestDistance[i] = distance;
+                    nearestCenter[i] = centerCount;
+                }
+                if (nearestDistance[i] > farthestDistance) {
+                    farthestDistance = nearestDistance[i];
+                    next = i;
+                }
+            }
+            centerCount++;
+            if (farthestDistance == 0.0f) {
+                break; // Every token coincides with a center
+            }
+        }
+
+        float[] radii = new float[centerCount];
+        for (int i = 0; i < pageVectors.length; i++) {
+            radii[nearestCenter[i]] = Math.max(radii[nearestCenter[i]], nearestDistance[i]);
+        }
+        for (int c = 0; c < centerCount; c++) {
+            // Slack for the rounding of the expanded distances, which grows with the vector norms
+            radii[c] = (float) Math.sqrt(radii[c] + 1e-4f * maxSquaredNorm) * 1.0001f;
+        }
+
+        cached = new Summary(Arrays.copyOf(centers, centerCount), radii);
+        if (normalized) {
+            unitSummary = cached;
+        } else {
+            summary = cached;
+        }
+        return cached;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.plugin.vector.util;
+
+import java.util.Locale;
+
+/**
+ * How the MaxSim scores of the pages of a multi-page document are combined
+ * into the score of the document.
+ */
+public enum PageAggregation {
+
+    /**
+     * Score of the best matching page
+     */
+    MAX("max"),
+
+    /**
+     * Sum of the scores of the k best matching pages
+     */
+    TOP_K_SUM("top_k_sum");
+
+    private final String name;
+
+    PageAggregation(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param topK Configured number of pages for {@link #TOP_K_SUM}
+     * @return Number of page scores that make up the document score
+     */
+    public int pagesToSum(int topK) {
+        return this == MAX ? 1 : topK;
+    }
+
+    /**
+     * Parses a page aggregation from its name
+     *
+     * @param name Name of the aggregation (max, top_k_sum)
+     * @return The page aggregation
+     */
+    public static PageAggregation fromString(String name) {
+        for (PageAggregation aggregation : values()) {
+            if (aggregation.name.equals(name.toLowerCase(Locale.ROOT))) {
+                return aggregation;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported page aggregation: " + name);
+    }
+}
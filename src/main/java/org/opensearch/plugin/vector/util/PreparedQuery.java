@@ -0,0 +1,137 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.plugin.vector.util;
+
+import java.util.List;
+
+/**
+ * Immutable, scoring-ready form of a MaxSim query. Query token vectors are unboxed
+ * into primitive arrays and, for cosine similarity, normalized to unit length up front,
+ * so scoring only has to handle the document side.
+ *
+ * Instances are shared between all shards of a node that run the same query, so they
+ * must never be modified after {@link #prepare(float[][], String)} returns. Neither may the
+ * arrays passed to it, which dot_product queries score with as they are.
+ */
+public final class PreparedQuery {
+
+    private final float[][] vectors;
+    private final String similarity;
+    private final boolean normalized;
+    private final float[] norms;
+
+    private PreparedQuery(float[][] vectors, String similarity, boolean normalized) {
+        this.vectors = vectors;
+        this.similarity = similarity;
+        this.normalized = normalized;
+        this.norms = new float[vectors.length];
+        for (int i = 0; i < vectors.length; i++) {
+            norms[i] = VectorUtils.computeNorm(vectors[i]);
+        }
+    }
+
+    /**
+     * Prepares query token vectors for scoring with the given similarity function.
+     * Cosine queries get normalized copies; dot_product queries keep the given arrays
+     * rather than a copy, so callers must not modify them afterwards.
+     *
+     * @param queryVectors Query token vectors
+     * @param similarityFunction The similarity function to use (dot_product, cosine, etc.)
+     * @return The prepared query
+     */
+    public static PreparedQuery prepare(float[][] queryVectors, String similarityFunction) {
+        String similarity = similarityFunction.toLowerCase();
+        boolean normalize;
+        switch (similarity) {
+            case "dot_product":
+                normalize = false;
+                break;
+            case "cosine":
+                normalize = true;
+                break;
+            default:
+                throw new IllegalArgumentException(
+                    "Unsupported similarity function: " + similarityFunction);
+        }
+
+        for (float[] vector : queryVectors) {
+            if (vector.length != queryVectors[0].length) {
+                throw new IllegalArgumentException(
+                    "Vector dimensions must match: " + queryVectors[0].length + " vs " + vector.length);
+            }
+        }
+        if (!normalize) {
+            return new PreparedQuery(queryVectors, similarity, false);
+        }
+
+        float[][] vectors = new float[queryVectors.length][];
+        for (int i = 0; i < queryVectors.length; i++) {
+            // Zero vectors stay zero, matching the zero similarity cosineSimilarity returns for them
+            vectors[i] = VectorUtils.normalize(queryVectors[i]);
+        }
+        return new PreparedQuery(vectors, similarity, true);
+    }
+
+    /**
+     * Prepares boxed query token vectors for scoring with the given similarity function.
+     *
+     * @param queryVectors List of query token vectors
+     * @param similarityFunction The similarity function to use (dot_product, cosine, etc.)
+     * @return The prepared query
+     */
+    public static PreparedQuery prepare(List<List<Float>> queryVectors, String similarityFunction) {
+        return prepare(VectorUtils.toArrays(queryVectors), similarityFunction);
+    }
+
+    /**
+     * @return Prepared query token vectors; callers must not modify them
+     */
+    float[][] vectors() {
+        return vectors;
+    }
+
+    /**
+     * @param token Index of a query token
+     * @return L2 norm of the prepared query token vector, used to bound page scores
+     */
+    float norm(int token) {
+        return norms[token];
+    }
+
+    /**
+     * @return Whether query vectors are unit length and document vectors must be normalized too
+     */
+    boolean isNormalized() {
+        return normalized;
+    }
+
+    public String getSimilarity() {
+        return similarity;
+    }
+
+    public int size() {
+        return vectors.length;
+    }
+
+    /**
+     * @param queryVectors Query token vectors this query was prepared from
+     * @return Whether this query scores with those arrays themselves rather than a copy
+     */
+    public boolean isBackedBy(float[][] queryVectors) {
+        return vectors == queryVectors;
+    }
+
+    /**
+     * @return Approximate heap usage of this query, used to bound the prepared-query cache
+     */
+    public long ramBytesUsed() {
+        long bytes = 64 + 16 + 4L * norms.length;
+        for (float[] vector : vectors) {
+            bytes += 16 + 4L * vector.length;
+        }
+        return bytes;
+    }
+}
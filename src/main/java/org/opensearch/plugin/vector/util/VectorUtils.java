@@ -5,7 +5,9 @@
 
 package org.opensearch.plugin.vector.util;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.PriorityQueue;
 
 /**
  * Utility class for vector operations used in late interaction models.
@@ -57,6 +59,278 @@ public class VectorUtils {
         return totalScore;
     }
 
+    /**
+     * Computes the MaxSim score between a prepared query and document vectors.
+     *
+     * @param query Prepared query token vectors
+     * @param docVectors List of document token vectors
+     * @return The MaxSim score
+     */
+    public static float computeMaxSim(PreparedQuery query, List<List<Float>> docVectors) {
+        return computeMaxSimBatch(new PreparedQuery[] { query }, docVectors)[0];
+    }
+
+    /**
+     * Computes the MaxSim scores of several queries against the same document in one pass.
+     *
+     * @param queries Prepared queries
+     * @param docVectors List of document token vectors
+     * @return The MaxSim score of each query, in the order of {@code queries}
+     */
+    public static float[] computeMaxSimBatch(PreparedQuery[] queries, List<List<Float>> docVectors) {
+        return computeMaxSimBatch(queries, DocumentPage.of(docVectors));
+    }
+
+    /**
+     * Computes the MaxSim scores of several queries against the same page in one pass.
+     * Each page vector is read (and, for cosine, normalized) once and then compared
+     * with the tokens of every query, so the per-page cost is shared across the batch.
+     *
+     * @param queries Prepared queries
+     * @param page Decoded document page
+     * @return The MaxSim score of each query, in the order of {@code queries}
+     */
+    public static float[] computeMaxSimBatch(PreparedQuery[] queries, DocumentPage page) {
+        boolean anyNormalized = false;
+
+        // Running maximum per query token, across all document vectors seen so far
+        float[][] maxSimilarities = new float[queries.length][];
+        for (int q = 0; q < queries.length; q++) {
+            maxSimilarities[q] = new float[queries[q].size()];
+            Arrays.fill(maxSimilarities[q], Float.NEGATIVE_INFINITY);
+            anyNormalized |= queries[q].isNormalized();
+        }
+
+        float[][] docVectors = page.vectors(false);
+        float[][] unitDocVectors = anyNormalized ? page.vectors(true) : null;
+        for (int d = 0; d < docVectors.length; d++) {
+            for (int q = 0; q < queries.length; q++) {
+                float[][] queryVectors = queries[q].vectors();
+                float[] target = queries[q].isNormalized() ? unitDocVectors[d] : docVectors[d];
+                float[] maxima = maxSimilarities[q];
+                for (int t = 0; t < queryVectors.length; t++) {
+                    float similarity = dotProduct(queryVectors[t], target);
+                    if (similarity > maxima[t]) {
+                        maxima[t] = similarity;
+                    }
+                }
+            }
+        }
+
+        float[] scores = new float[queries.length];
+        for (int q = 0; q < queries.length; q++) {
+            float totalScore = 0.0f;
+            for (float maxSimilarity : maxSimilarities[q]) {
+                totalScore += maxSimilarity;
+            }
+            scores[q] = totalScore;
+        }
+        return scores;
+    }
+
+    /**
+     * Computes the MaxSim score of a query against a document made of several pages.
+     *
+     * @param query Prepared query
+     * @param pages Decoded document pages
+     * @param aggregation How page scores are combined
+     * @param topK Number of pages summed by {@link PageAggregation#TOP_K_SUM}
+     * @param prunePages Whether to skip pages whose upper bound shows they cannot change the score
+     * @return The document score
+     * @see #computePagedMaxSimBatch(PreparedQuery[], List, PageAggregation, int, boolean)
+     */
+    public static float computePagedMaxSim(
+            PreparedQuery query,
+            List<DocumentPage> pages,
+            PageAggregation aggregation,
+            int topK,
+            boolean prunePages) {
+        return computePagedMaxSimBatch(new PreparedQuery[] { query }, pages, aggregation, topK, prunePages)[0];
+    }
+
+    /**
+     * Computes the MaxSim scores of several queries against a document made of several pages,
+     * combining the page scores with the given aggregation.
+     *
+     * By default all pages are scored against all queries with the batched kernel. With
+     * {@code prunePages}, and when not every page contributes to the score anyway, pages are
+     * instead scored lazily per query, in decreasing order of
+     * {@link DocumentPage#upperBound(PreparedQuery)}, and scoring stops as soon as no remaining
+     * page can displace one of the best pages found so far. Either way the result is the same
+     * as scoring every page. Pruning only pays off when a document's pages are clustered
+     * tightly enough for the bounds to separate them; the bound summaries are built on each
+     * page decode, so on documents whose tokens spread evenly it is slower than scoring every page.
+     *
+     * @param queries Prepared queries
+     * @param pages Decoded document pages
+     * @param aggregation How page scores are combined
+     * @param topK Number of pages summed by {@link PageAggregation#TOP_K_SUM}
+     * @param prunePages Whether to skip pages whose upper bound shows they cannot change the score
+     * @return The document score of each query, in the order of {@code queries}
+     */
+    public static float[] computePagedMaxSimBatch(
+            PreparedQuery[] queries,
+            List<DocumentPage> pages,
+            PageAggregation aggregation,
+            int topK,
+            boolean prunePages) {
+        return computePagedMaxSimBatch(queries, pages, aggregation, topK, prunePages, null);
+    }
+
+    /**
+     * Same as {@link #computePagedMaxSimBatch(PreparedQuery[], List, PageAggregation, int, boolean)},
+     * additionally counting how many pages were scored exactly for each query.
+     *
+     * @param pagesScored Receives the number of pages scored per query, or null
+     */
+    static float[] computePagedMaxSimBatch(
+            PreparedQuery[] queries,
+            List<DocumentPage> pages,
+            PageAggregation aggregation,
+            int topK,
+            boolean prunePages,
+            int[] pagesScored) {
+
+        int pagesToSum = aggregation.pagesToSum(topK);
+        float[] scores = new float[queries.length];
+
+        if (!prunePages || pages.size() <= pagesToSum) {
+            float[][] pageScores = new float[queries.length][pages.size()];
+            for (int p = 0; p < pages.size(); p++) {
+                float[] scoresOfPage = computeMaxSimBatch(queries, pages.get(p));
+                for (int q = 0; q < queries.length; q++) {
+                    pageScores[q][p] = scoresOfPage[q];
+                }
+            }
+            for (int q = 0; q < queries.length; q++) {
+                scores[q] = sumBestScores(pageScores[q], pagesToSum);
+            }
+            if (pagesScored != null) {
+                Arrays.fill(pagesScored, pages.size());
+            }
+            return scores;
+        }
+
+        for (int q = 0; q < queries.length; q++) {
+            scores[q] = sumBestPages(queries[q], pages, pagesToSum, pagesScored, q);
+        }
+        return scores;
+    }
+
+    /**
+     * Sums the highest of the given page scores.
+     *
+     * @param pageScores MaxSim score of each page; reordered when not all of them are summed
+     * @param pagesToSum Number of best pages to sum
+     * @return Sum of the {@code pagesToSum} highest scores, or of all of them if there are fewer
+     */
+    private static float sumBestScores(float[] pageScores, int pagesToSum) {
+        if (pagesToSum < pageScores.length) {
+            Arrays.sort(pageScores);
+        }
+        float totalScore = 0.0f;
+        for (int p = Math.max(0, pageScores.length - pagesToSum); p < pageScores.length; p++) {
+            totalScore += pageScores[p];
+        }
+        return totalScore;
+    }
+
+    /**
+     * Sums the MaxSim scores of the best pages of a document, skipping pages whose
+     * upper bound shows they cannot be among them.
+     *
+     * @param query Prepared query
+     * @param pages Decoded document pages, more than {@code pagesToSum} of them
+     * @param pagesToSum Number of best pages to sum
+     * @param pagesScored Receives the number of pages scored at index {@code slot}, or null
+     * @param slot Index of the query in {@code pagesScored}
+     * @return Sum of the scores of the best pages
+     */
+    private static float sumBestPages(PreparedQuery query, List<DocumentPage> pages, int pagesToSum,
+                                      int[] pagesScored, int slot) {
+        PreparedQuery[] single = new PreparedQuery[] { query };
+        float[] bounds = new float[pages.size()];
+        Integer[] order = new Integer[pages.size()];
+        for (int p = 0; p < pages.size(); p++) {
+            bounds[p] = pages.get(p).upperBound(query);
+            order[p] = p;
+        }
+        Arrays.sort(order, (a, b) -> Float.compare(bounds[b], bounds[a]));
+
+        // Min-heap of the best page scores found so far
+        PriorityQueue<Float> best = new PriorityQueue<>(pagesToSum);
+        for (int p : order) {
+            if (best.size() == pagesToSum && bounds[p] <= best.peek()) {
+                break; // Remaining pages have even lower bounds
+            }
+            float pageScore = computeMaxSimBatch(single, pages.get(p))[0];
+            if (pagesScored != null) {
+                pagesScored[slot]++;
+            }
+            if (best.size() < pagesToSum) {
+                best.add(pageScore);
+            } else if (pageScore > best.peek()) {
+                best.poll();
+                best.add(pageScore);
+            }
+        }
+
+        float totalScore = 0.0f;
+        for (float pageScore : best) {
+            totalScore += pageScore;
+        }
+        return totalScore;
+    }
+
+    /**
+     * Converts a list of vectors to a primitive array, one row per vector.
+     *
+     * @param vectors List of vectors
+     * @return The vectors as a two-dimensional array
+     */
+    public static float[][] toArrays(List<List<Float>> vectors) {
+        float[][] arrays = new float[vectors.size()][];
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = toArray(vectors.get(i));
+        }
+        return arrays;
+    }
+
+    /**
+     * Converts a vector to a primitive array.
+     *
+     * @param vector The vector
+     * @return The vector as an array
+     */
+    public static float[] toArray(List<Float> vector) {
+        float[] array = new float[vector.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = vector.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Computes the dot product of two vectors.
+     *
+     * @param v1 First vector
+     * @param v2 Second vector
+     * @return The dot product
+     */
+    public static float dotProduct(float[] v1, float[] v2) {
+        if (v1.length != v2.length) {
+            throw new IllegalArgumentException(
+                "Vector dimensions must match: " + v1.length + " vs " + v2.length);
+        }
+
+        float sum = 0.0f;
+        for (int i = 0; i < v1.length; i++) {
+            sum += v1[i] * v2[i];
+        }
+
+        return sum;
+    }
+
     /**
      * Computes the dot product of two vectors.
      *
@@ -115,4 +389,35 @@ public class VectorUtils {
         }
         return (float) Math.sqrt(sumSquares);
     }
+
+    /**
+     * Computes the L2 norm (Euclidean length) of a vector.
+     *
+     * @param vector The vector
+     * @return The L2 norm
+     */
+    static float computeNorm(float[] vector) {
+        float sumSquares = 0.0f;
+        for (float value : vector) {
+            sumSquares += value * value;
+        }
+        return (float) Math.sqrt(sumSquares);
+    }
+
+    /**
+     * Returns a unit-length copy of a vector, or a zero vector if its norm is zero.
+     *
+     * @param vector The vector
+     * @return The normalized vector
+     */
+    static float[] normalize(float[] vector) {
+        float norm = computeNorm(vector);
+        float[] unit = new float[vector.length];
+        if (norm != 0) {
+            for (int i = 0; i < vector.length; i++) {
+                unit[i] = vector[i] / norm;
+            }
+        }
+        return unit;
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.plugin.vector.action;
+
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.common.io.stream.NamedWriteableAwareStreamInput;
+import org.opensearch.core.common.io.stream.NamedWriteableRegistry;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.index.query.MatchAllQueryBuilder;
+import org.opensearch.index.query.TermQueryBuilder;
+import org.opensearch.plugin.vector.action.MaxSimBatchRescoreResponse.Hit;
+import org.opensearch.plugin.vector.rescorer.MaxSimRescorerBuilder;
+import org.opensearch.plugin.vector.util.PageAggregation;
+import org.opensearch.search.SearchModule;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Unit tests for the batch MaxSim rescoring action's request, response and hit merging
+ */
+public class MaxSimBatchRescoreRequestTests extends OpenSearchTestCase {
+
+    private static final List<List<Float>> QUERY_A = List.of(
+        List.of(0.1f, 0.2f, 0.3f),
+        List.of(0.4f, 0.5f, 0.6f)
+    );
+
+    private static final List<List<Float>> QUERY_B = List.of(
+        List.of(-0.3f, 0.9f, 0.1f)
+    );
+
+    private MaxSimRescorerBuilder rescorer(List<List<Float>> queryVectors, String field,
+                                           PageAggregation pageAggregation, int pageTopK) {
+        return new MaxSimRescorerBuilder(queryVectors, field, "dot_product", pageAggregation, pageTopK);
+    }
+
+    public void testSerialization() throws IOException {
+        MaxSimBatchRescoreRequest original = new MaxSimBatchRescoreRequest("index-1", "index-2")
+            .add(new MatchAllQueryBuilder(), rescorer(QUERY_A, "token_vectors", PageAggregation.MAX, 3), 10)
+            .add(new TermQueryBuilder("category", "pdf"), rescorer(QUERY_B, "token_vectors", PageAggregation.TOP_K_SUM, 1), 5);
+
+        BytesStreamOutput output = new BytesStreamOutput();
+        original.writeTo(output);
+        NamedWriteableRegistry registry = new NamedWriteableRegistry(new SearchModule(Settings.EMPTY, List.of()).getNamedWriteables());
+        MaxSimBatchRescoreRequest deserialized = new MaxSimBatchRescoreRequest(
+            new NamedWriteableAwareStreamInput(output.bytes().streamInput(), registry));
+
+        assertArrayEquals(original.indices(), deserialized.indices());
+        assertEquals(original.items(), deserialized.items());
+    }
+
+    public void testValidation() {
+        assertNotNull(new MaxSimBatchRescoreRequest("index").validate());
+
+        // max ignores page_top_k, so it batches with any query that scores by the best page
+        MaxSimBatchRescoreRequest bestPage = new MaxSimBatchRescoreRequest("index")
+            .add(new MatchAllQueryBuilder(), rescorer(QUERY_A, "token_vectors", PageAggregation.MAX, 5), 10)
+            .add(new MatchAllQueryBuilder(), rescorer(QUERY_B, "token_vectors", PageAggregation.TOP_K_SUM, 1), 10);
+        assertNull(bestPage.validate());
+
+        MaxSimBatchRescoreRequest mixed = new MaxSimBatchRescoreRequest("index")
+            .add(new MatchAllQueryBuilder(), rescorer(QUERY_A, "token_vectors", PageAggregation.MAX, 3), 10)
+            .add(new MatchAllQueryBuilder(), rescorer(QUERY_B, "other_vectors", PageAggregation.MAX, 3), 10)
+            .add(new MatchAllQueryBuilder(), rescorer(QUERY_B, "token_vectors", PageAggregation.TOP_K_SUM, 3), -1)
+            .add(new MatchAllQueryBuilder(),
+                new MaxSimRescorerBuilder(QUERY_B, "token_vectors", "dot_product", PageAggregation.MAX, 3, true), 10);
+        ActionRequestValidationException e = mixed.validate();
+        assertNotNull(e);
+        assertEquals(4, e.validationErrors().size());
+    }
+
+    public void testResponseSerialization() throws IOException {
+        MaxSimBatchRescoreResponse original = new MaxSimBatchRescoreResponse(2, 2, 0, List.of(), List.of(
+            List.of(new Hit("index", "1", 2.5f), new Hit("index", "3", 1.0f)),
+            List.of()
+        ));
+
+        BytesStreamOutput output = new BytesStreamOutput();
+        original.writeTo(output);
+        MaxSimBatchRescoreResponse deserialized = new MaxSimBatchRescoreResponse(output.bytes().streamInput());
+
+        assertEquals(2, deserialized.getSuccessfulShards());
+        assertEquals(original.getHits(), deserialized.getHits());
+    }
+
+    public void testMergeKeepsBestHitsOfEveryShard() {
+        List<MaxSimBatchRescoreRequest.Item> items = new MaxSimBatchRescoreRequest("index")
+            .add(new MatchAllQueryBuilder(), rescorer(QUERY_A, "token_vectors", PageAggregation.MAX, 3), 2)
+            .add(new MatchAllQueryBuilder(), rescorer(QUERY_B, "token_vectors", PageAggregation.MAX, 3), 3)
+            .items();
+        ShardMaxSimBatchRescoreResponse shard0 = new ShardMaxSimBatchRescoreResponse(new ShardId("index", "_na_", 0), List.of(
+            List.of(new Hit("index", "a", 3.0f), new Hit("index", "b", 1.0f)),
+            List.of(new Hit("index", "a", 0.5f))
+        ));
+        ShardMaxSimBatchRescoreResponse shard1 = new ShardMaxSimBatchRescoreResponse(new ShardId("index", "_na_", 1), List.of(
+            List.of(new Hit("index", "c", 2.0f)),
+            List.of(new Hit("index", "c", 4.0f), new Hit("index", "d", 0.1f))
+        ));
+
+        List<List<Hit>> merged = TransportMaxSimBatchRescoreAction.mergeHits(items, List.of(shard0, shard1));
+
+        assertEquals(List.of(new Hit("index", "a", 3.0f), new Hit("index", "c", 2.0f)), merged.get(0));
+        assertEquals(List.of(new Hit("index", "c", 4.0f), new Hit("index", "a", 0.5f), new Hit("index", "d", 0.1f)),
+            merged.get(1));
+    }
+}
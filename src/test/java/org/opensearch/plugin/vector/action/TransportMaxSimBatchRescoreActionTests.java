@@ -0,0 +1,129 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.plugin.vector.action;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.index.mapper.IdFieldMapper;
+import org.opensearch.index.mapper.SeqNoFieldMapper;
+import org.opensearch.index.mapper.Uid;
+import org.opensearch.index.query.MatchAllQueryBuilder;
+import org.opensearch.plugin.vector.action.MaxSimBatchRescoreResponse.Hit;
+import org.opensearch.plugin.vector.rescorer.MaxSimRescorerBuilder;
+import org.opensearch.plugin.vector.rescorer.MaxSimRescorerBuilder.MaxSimRescoreContext;
+import org.opensearch.plugin.vector.rescorer.PreparedQueryCache;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shard-level tests for the batch MaxSim rescoring action
+ */
+public class TransportMaxSimBatchRescoreActionTests extends OpenSearchTestCase {
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        PreparedQueryCache.initialize(Settings.EMPTY);
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        PreparedQueryCache.release();
+        super.tearDown();
+    }
+
+    private static final List<List<Float>> QUERY_VECTORS = List.of(
+        List.of(0.1f, 0.2f, 0.3f),
+        List.of(0.4f, 0.5f, 0.6f)
+    );
+
+    /**
+     * Root document as indexed by OpenSearch: with an _id and a primary term
+     */
+    private Document rootDocument(String id, String category) {
+        Document document = new Document();
+        document.add(new StoredField(IdFieldMapper.NAME, Uid.encodeId(id)));
+        document.add(new NumericDocValuesField(SeqNoFieldMapper.PRIMARY_TERM_NAME, 1));
+        document.add(new StringField("category", category, Field.Store.NO));
+        return document;
+    }
+
+    /**
+     * Nested document as indexed by OpenSearch: no _id and no primary term of its own
+     */
+    private Document nestedDocument() {
+        Document document = new Document();
+        document.add(new StringField("pages.text", "page", Field.Store.NO));
+        return document;
+    }
+
+    private List<Hit> rescore(IndexSearcher searcher, Query query) throws IOException {
+        MaxSimRescorerBuilder rescorer = new MaxSimRescorerBuilder(QUERY_VECTORS, "token_vectors", "dot_product");
+        rescorer.windowSize(100);
+        List<MaxSimBatchRescoreRequest.Item> items = new MaxSimBatchRescoreRequest("index")
+            .add(new MatchAllQueryBuilder(), rescorer, 100)
+            .items();
+        List<MaxSimRescoreContext> contexts = List.of((MaxSimRescoreContext) rescorer.buildContext(null));
+        return TransportMaxSimBatchRescoreAction.rescoreShard(searcher, "index", items, List.of(query), contexts).get(0);
+    }
+
+    private Set<String> ids(List<Hit> hits) {
+        Set<String> ids = new HashSet<>();
+        for (Hit hit : hits) {
+            assertNotNull(hit.getId());
+            ids.add(hit.getId());
+        }
+        return ids;
+    }
+
+    public void testNestedDocumentsAndAliasFilter() throws IOException {
+        Directory directory = new ByteBuffersDirectory();
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+            for (int i = 0; i < 4; i++) {
+                // Nested documents are indexed in the same block, before their root document
+                writer.addDocuments(List.of(nestedDocument(), nestedDocument(), rootDocument("doc-" + i, i % 2 == 0 ? "pdf" : "html")));
+            }
+        }
+
+        try (IndexReader reader = DirectoryReader.open(directory)) {
+            IndexSearcher searcher = new IndexSearcher(reader);
+
+            // Without the non-nested filter, match_all also returns nested documents, which have no _id
+            assertEquals(12, rescore(searcher, TransportMaxSimBatchRescoreAction.buildFilteredQuery(
+                new MatchAllDocsQuery(), null, false)).size());
+
+            List<Hit> hits = rescore(searcher, TransportMaxSimBatchRescoreAction.buildFilteredQuery(
+                new MatchAllDocsQuery(), null, true));
+            assertEquals(Set.of("doc-0", "doc-1", "doc-2", "doc-3"), ids(hits));
+
+            Query aliasFilter = new TermQuery(new Term("category", "pdf"));
+            hits = rescore(searcher, TransportMaxSimBatchRescoreAction.buildFilteredQuery(
+                new MatchAllDocsQuery(), aliasFilter, true));
+            assertEquals(Set.of("doc-0", "doc-2"), ids(hits));
+        } finally {
+            directory.close();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.plugin.vector.rescorer;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.plugin.vector.util.PageAggregation;
+import org.opensearch.plugin.vector.util.PreparedQuery;
+import org.opensearch.plugin.vector.util.VectorUtils;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Unit tests for MaxSimBatchRescorer functionality
+ */
+public class MaxSimBatchRescorerTests extends OpenSearchTestCase {
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        PreparedQueryCache.initialize(Settings.EMPTY);
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        PreparedQueryCache.release();
+        super.tearDown();
+    }
+
+    private static final List<List<Float>> QUERY_A = List.of(
+        List.of(0.1f, 0.2f, 0.3f),
+        List.of(0.4f, 0.5f, 0.6f)
+    );
+
+    private static final List<List<Float>> QUERY_B = List.of(
+        List.of(-0.3f, 0.9f, 0.1f)
+    );
+
+    public void testComputeMaxSimBatchMatchesSingleQuery() {
+        List<List<Float>> docVectors = List.of(
+            List.of(0.1f, 0.2f, 0.3f),
+            List.of(0.4f, -0.5f, 0.6f),
+            List.of(0.7f, 0.8f, -0.9f)
+        );
+        for (String similarity : List.of("dot_product", "cosine")) {
+            PreparedQuery[] queries = { PreparedQuery.prepare(QUERY_A, similarity), PreparedQuery.prepare(QUERY_B, similarity) };
+            float[] scores = VectorUtils.computeMaxSimBatch(queries, docVectors);
+            assertEquals(2, scores.length);
+            assertEquals(VectorUtils.computeMaxSim(QUERY_A, docVectors, similarity), scores[0], 0.0001f);
+            assertEquals(VectorUtils.computeMaxSim(QUERY_B, docVectors, similarity), scores[1], 0.0001f);
+        }
+    }
+
+    public void testBatchRescoringMatchesSingleQueryRescoring() throws IOException {
+        Directory directory = new ByteBuffersDirectory();
+        IndexWriterConfig config = new IndexWriterConfig();
+        try (IndexWriter writer = new IndexWriter(directory, config)) {
+            for (int i = 0; i < 5; i++) {
+                Document document = new Document();
+                document.add(new TextField("content", "test document " + i, Field.Store.YES));
+                writer.addDocument(document);
+            }
+        }
+
+        IndexReader reader = DirectoryReader.open(directory);
+        try {
+            IndexSearcher searcher = new IndexSearcher(reader);
+            TopDocs topDocs = searcher.search(new MatchAllDocsQuery(), 5);
+
+            // Overlapping windows of different sizes
+            MaxSimRescorerBuilder.MaxSimRescoreContext contextA = (MaxSimRescorerBuilder.MaxSimRescoreContext)
+                new MaxSimRescorerBuilder(QUERY_A, "token_vectors", "dot_product").innerBuildContext(3, null);
+            MaxSimRescorerBuilder.MaxSimRescoreContext contextB = (MaxSimRescorerBuilder.MaxSimRescoreContext)
+                new MaxSimRescorerBuilder(QUERY_B, "token_vectors", "dot_product").innerBuildContext(5, null);
+
+            List<TopDocs> batch = MaxSimBatchRescorer.INSTANCE.rescore(
+                List.of(topDocs, topDocs), searcher, List.of(contextA, contextB));
+            TopDocs expectedA = MaxSimRescorer.INSTANCE.rescore(topDocs, searcher, contextA);
+            TopDocs expectedB = MaxSimRescorer.INSTANCE.rescore(topDocs, searcher, contextB);
+
+            assertEquals(2, batch.size());
+            assertSameScores(expectedA, batch.get(0));
+            assertSameScores(expectedB, batch.get(1));
+        } finally {
+            reader.close();
+            directory.close();
+        }
+    }
+
+    public void testBatchRejectsMixedFields() {
+        MaxSimRescorerBuilder.MaxSimRescoreContext contextA = (MaxSimRescorerBuilder.MaxSimRescoreContext)
+            new MaxSimRescorerBuilder(QUERY_A, "token_vectors", "dot_product").innerBuildContext(3, null);
+        MaxSimRescorerBuilder.MaxSimRescoreContext contextB = (MaxSimRescorerBuilder.MaxSimRescoreContext)
+            new MaxSimRescorerBuilder(QUERY_B, "other_vectors", "dot_product").innerBuildContext(3, null);
+        TopDocs empty = new TopDocs(null, new ScoreDoc[0]);
+
+        expectThrows(IllegalArgumentException.class,
+            () -> MaxSimBatchRescorer.INSTANCE.rescore(List.of(empty, empty), null, List.of(contextA, contextB)));
+    }
+
+    public void testBatchComparesPagesSummed() throws IOException {
+        TopDocs empty = new TopDocs(null, new ScoreDoc[0]);
+        MaxSimRescorerBuilder.MaxSimRescoreContext max = (MaxSimRescorerBuilder.MaxSimRescoreContext)
+            new MaxSimRescorerBuilder(QUERY_A, "token_vectors", "dot_product", PageAggregation.MAX, 5)
+                .innerBuildContext(3, null);
+        MaxSimRescorerBuilder.MaxSimRescoreContext bestPage = (MaxSimRescorerBuilder.MaxSimRescoreContext)
+            new MaxSimRescorerBuilder(QUERY_B, "token_vectors", "dot_product", PageAggregation.TOP_K_SUM, 1)
+                .innerBuildContext(3, null);
+        MaxSimRescorerBuilder.MaxSimRescoreContext bestThreePages = (MaxSimRescorerBuilder.MaxSimRescoreContext)
+            new MaxSimRescorerBuilder(QUERY_B, "token_vectors", "dot_product", PageAggregation.TOP_K_SUM, 3)
+                .innerBuildContext(3, null);
+        MaxSimRescorerBuilder.MaxSimRescoreContext pruned = (MaxSimRescorerBuilder.MaxSimRescoreContext)
+            new MaxSimRescorerBuilder(QUERY_B, "token_vectors", "dot_product", PageAggregation.MAX, 5, true)
+                .innerBuildContext(3, null);
+
+        Directory directory = new ByteBuffersDirectory();
+        new IndexWriter(directory, new IndexWriterConfig()).close();
+        try (IndexReader reader = DirectoryReader.open(directory)) {
+            IndexSearcher searcher = new IndexSearcher(reader);
+            // max ignores page_top_k and both queries score a document by its best page
+            assertEquals(2, MaxSimBatchRescorer.INSTANCE.rescore(List.of(empty, empty), searcher, List.of(max, bestPage)).size());
+            expectThrows(IllegalArgumentException.class,
+                () -> MaxSimBatchRescorer.INSTANCE.rescore(List.of(empty, empty), searcher, List.of(max, bestThreePages)));
+            // Pruning is applied to the whole batch, so all queries have to agree on it
+            expectThrows(IllegalArgumentException.class,
+                () -> MaxSimBatchRescorer.INSTANCE.rescore(List.of(empty, empty), searcher, List.of(max, pruned)));
+        } finally {
+            directory.close();
+        }
+    }
+
+    private void assertSameScores(TopDocs expected, TopDocs actual) {
+        assertEquals(expected.scoreDocs.length, actual.scoreDocs.length);
+        for (int i = 0; i < expected.scoreDocs.length; i++) {
+            assertEquals(expected.scoreDocs[i].doc, actual.scoreDocs[i].doc);
+            assertEquals(expected.scoreDocs[i].score, actual.scoreDocs[i].score, 0.0001f);
+        }
+    }
+}
@@ -18,8 +18,10 @@ import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.ByteBuffersDirectory;
 import org.apache.lucene.store.Directory;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.core.common.io.stream.BytesStreamOutput;
 import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.plugin.vector.util.PageAggregation;
 import org.opensearch.xcontent.XContentBuilder;
 import org.opensearch.xcontent.XContentFactory;
 import org.opensearch.xcontent.XContentParser;
@@ -36,6 +38,18 @@ import java.util.List;
  */
 public class MaxSimRescorerTests extends OpenSearchTestCase {
 
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        PreparedQueryCache.initialize(Settings.EMPTY);
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        PreparedQueryCache.release();
+        super.tearDown();
+    }
+
     private List<List<Float>> createQueryVectors() {
         List<List<Float>> vectors = new ArrayList<>();
         vectors.add(List.of(0.1f, 0.2f, 0.3f));
@@ -96,6 +110,33 @@ public class MaxSimRescorerTests extends OpenSearchTestCase {
         assertEquals(builder, parsed);
     }
 
+    public void testPageAggregationSerialization() throws IOException {
+        MaxSimRescorerBuilder original = new MaxSimRescorerBuilder(
+            createQueryVectors(), "token_vectors", "cosine", PageAggregation.TOP_K_SUM, 2, true);
+        
+        BytesStreamOutput output = new BytesStreamOutput();
+        original.writeTo(output);
+        MaxSimRescorerBuilder deserialized = new MaxSimRescorerBuilder(output.bytes().streamInput());
+        assertEquals(original, deserialized);
+        
+        XContentBuilder xContentBuilder = XContentFactory.contentBuilder(XContentType.JSON);
+        original.toXContent(xContentBuilder, null);
+        XContentParser parser = createParser(xContentBuilder);
+        parser.nextToken(); // Move to START_OBJECT
+        parser.nextToken(); // Move to FIELD_NAME
+        assertEquals(original, MaxSimRescorerBuilder.fromXContent(parser));
+        
+        assertNotEquals(original, new MaxSimRescorerBuilder(createQueryVectors(), "token_vectors", "cosine"));
+        assertNotEquals(original, new MaxSimRescorerBuilder(
+            createQueryVectors(), "token_vectors", "cosine", PageAggregation.TOP_K_SUM, 2, false));
+    }
+
+    public void testInvalidPageOptions() {
+        expectThrows(IllegalArgumentException.class, () -> new MaxSimRescorerBuilder(
+            createQueryVectors(), "token_vectors", "dot_product", PageAggregation.TOP_K_SUM, 0));
+        expectThrows(IllegalArgumentException.class, () -> PageAggregation.fromString("avg"));
+    }
+
     public void testRescoring() throws IOException {
         // Create a simple in-memory index
         Directory directory = new ByteBuffersDirectory();
@@ -0,0 +1,195 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.plugin.vector.rescorer;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.common.unit.ByteSizeUnit;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.plugin.vector.util.PreparedQuery;
+import org.opensearch.plugin.vector.util.VectorUtils;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Unit tests for PreparedQueryCache functionality
+ */
+public class PreparedQueryCacheTests extends OpenSearchTestCase {
+
+    private List<List<Float>> createQueryVectors() {
+        List<List<Float>> vectors = new ArrayList<>();
+        vectors.add(new ArrayList<>(List.of(0.1f, 0.2f, 0.3f)));
+        vectors.add(new ArrayList<>(List.of(0.4f, 0.5f, 0.6f)));
+        return vectors;
+    }
+
+    public void testEqualQueriesShareOnePreparedQuery() {
+        PreparedQueryCache cache = new PreparedQueryCache(new ByteSizeValue(1, ByteSizeUnit.MB));
+
+        PreparedQuery first = cache.getOrPrepare(PreparedQueryCache.Key.of(createQueryVectors(), "dot_product"));
+        PreparedQuery second = cache.getOrPrepare(PreparedQueryCache.Key.of(createQueryVectors(), "DOT_PRODUCT"));
+        PreparedQuery cosine = cache.getOrPrepare(PreparedQueryCache.Key.of(createQueryVectors(), "cosine"));
+
+        assertSame(first, second);
+        assertNotSame(first, cosine);
+        assertEquals(2, cache.count());
+    }
+
+    public void testKeyDependsOnContentAndShape() {
+        PreparedQueryCache.Key key = PreparedQueryCache.Key.of(createQueryVectors(), "dot_product");
+        assertEquals(key, PreparedQueryCache.Key.of(createQueryVectors(), "dot_product"));
+
+        List<List<Float>> changed = createQueryVectors();
+        changed.get(1).set(2, 0.7f);
+        assertNotEquals(key, PreparedQueryCache.Key.of(changed, "dot_product"));
+
+        // Same floats, split into vectors differently
+        List<List<Float>> reshaped = List.of(List.of(0.1f, 0.2f), List.of(0.3f, 0.4f, 0.5f, 0.6f));
+        assertNotEquals(key, PreparedQueryCache.Key.of(reshaped, "dot_product"));
+    }
+
+    public void testHashCollisionDoesNotShareQuery() {
+        PreparedQueryCache cache = new PreparedQueryCache(new ByteSizeValue(1, ByteSizeUnit.MB));
+        PreparedQueryCache.Key key = PreparedQueryCache.Key.of(createQueryVectors(), "dot_product");
+
+        // Hash the content of the first query, but key the vectors of another one with it
+        PreparedQueryCache.Hasher hasher = new PreparedQueryCache.Hasher();
+        for (List<Float> vector : createQueryVectors()) {
+            for (Float value : vector) {
+                hasher.add(value);
+            }
+            hasher.endVector();
+        }
+        float[][] otherVectors = { { 0.9f, 0.8f, 0.7f }, { 0.6f, 0.5f, 0.4f } };
+        PreparedQueryCache.Key colliding = hasher.key(otherVectors, "dot_product");
+
+        assertEquals(key.hashCode(), colliding.hashCode());
+        assertNotEquals(key, colliding);
+        assertNotSame(cache.getOrPrepare(key), cache.getOrPrepare(colliding));
+        assertEquals(2, cache.count());
+    }
+
+    public void testDotProductQuerySharesKeyVectors() {
+        PreparedQueryCache cache = new PreparedQueryCache(new ByteSizeValue(1, ByteSizeUnit.MB));
+        PreparedQueryCache.Key key = PreparedQueryCache.Key.of(createQueryVectors(), "dot_product");
+        PreparedQuery dotProduct = cache.getOrPrepare(key);
+        assertTrue(dotProduct.isBackedBy(key.vectors()));
+        // The shared vectors are charged to the prepared query only
+        assertEquals(key.ramBytesUsed(true) + dotProduct.ramBytesUsed(), cache.weight());
+
+        cache.clear();
+        PreparedQueryCache.Key cosineKey = PreparedQueryCache.Key.of(createQueryVectors(), "cosine");
+        PreparedQuery cosine = cache.getOrPrepare(cosineKey);
+        assertFalse(cosine.isBackedBy(cosineKey.vectors()));
+        assertEquals(cosineKey.ramBytesUsed(false) + cosine.ramBytesUsed(), cache.weight());
+    }
+
+    public void testKeyReadFromStreamMatchesParsedKey() throws IOException {
+        MaxSimRescorerBuilder original = new MaxSimRescorerBuilder(createQueryVectors(), "token_vectors", "cosine");
+        BytesStreamOutput output = new BytesStreamOutput();
+        original.writeTo(output);
+        MaxSimRescorerBuilder deserialized = new MaxSimRescorerBuilder(output.bytes().streamInput());
+
+        PreparedQueryCache.initialize(Settings.EMPTY);
+        try {
+            PreparedQueryCache cache = PreparedQueryCache.getInstance();
+            MaxSimRescorerBuilder.MaxSimRescoreContext first =
+                (MaxSimRescorerBuilder.MaxSimRescoreContext) original.innerBuildContext(3, null);
+            MaxSimRescorerBuilder.MaxSimRescoreContext second =
+                (MaxSimRescorerBuilder.MaxSimRescoreContext) deserialized.innerBuildContext(3, null);
+            assertSame(first.getPreparedQuery(), second.getPreparedQuery());
+            assertEquals(1, cache.count());
+        } finally {
+            PreparedQueryCache.release();
+        }
+    }
+
+    public void testConcurrentShardsPrepareOnce() throws Exception {
+        AtomicInteger preparations = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        PreparedQueryCache cache = new PreparedQueryCache(new ByteSizeValue(1, ByteSizeUnit.MB), (vectors, similarity) -> {
+            preparations.incrementAndGet();
+            try {
+                // Hold the first preparation until every shard has asked for the query
+                loading.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return PreparedQuery.prepare(vectors, similarity);
+        });
+
+        int shards = 8;
+        AtomicReferenceArray<PreparedQuery> prepared = new AtomicReferenceArray<>(shards);
+        Thread[] threads = new Thread[shards];
+        for (int i = 0; i < shards; i++) {
+            int shard = i;
+            threads[i] = new Thread(() ->
+                prepared.set(shard, cache.getOrPrepare(PreparedQueryCache.Key.of(createQueryVectors(), "cosine"))));
+            threads[i].start();
+        }
+        // Every shard is either preparing the query or waiting for the shard that is
+        assertBusy(() -> {
+            assertEquals(1, preparations.get());
+            for (Thread thread : threads) {
+                assertEquals(Thread.State.WAITING, thread.getState());
+            }
+        });
+        loading.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, preparations.get());
+        for (int i = 1; i < shards; i++) {
+            assertSame(prepared.get(0), prepared.get(i));
+        }
+        assertEquals(1, cache.count());
+    }
+
+    public void testInitializeIsSharedAndRejectsDifferentSize() {
+        PreparedQueryCache first = PreparedQueryCache.initialize(Settings.EMPTY);
+        try {
+            assertSame(first, PreparedQueryCache.initialize(Settings.EMPTY));
+            PreparedQueryCache.release();
+            assertSame(first, PreparedQueryCache.getInstance());
+
+            Settings other = Settings.builder().put(PreparedQueryCache.CACHE_SIZE_SETTING.getKey(), "1mb").build();
+            expectThrows(IllegalStateException.class, () -> PreparedQueryCache.initialize(other));
+        } finally {
+            PreparedQueryCache.release();
+        }
+        expectThrows(IllegalStateException.class, PreparedQueryCache::getInstance);
+    }
+
+    public void testPreparedCosineMatchesCosineMaxSim() {
+        List<List<Float>> queryVectors = createQueryVectors();
+        List<List<Float>> docVectors = List.of(
+            List.of(0.1f, -0.2f, 0.3f),
+            List.of(0.7f, 0.8f, -0.9f)
+        );
+        PreparedQuery prepared = new PreparedQueryCache(new ByteSizeValue(1, ByteSizeUnit.MB))
+            .getOrPrepare(PreparedQueryCache.Key.of(queryVectors, "cosine"));
+
+        assertEquals(
+            VectorUtils.computeMaxSim(queryVectors, docVectors, "cosine"),
+            VectorUtils.computeMaxSim(prepared, docVectors),
+            0.0001f
+        );
+    }
+
+    public void testUnsupportedSimilarityIsRejected() {
+        PreparedQueryCache cache = new PreparedQueryCache(new ByteSizeValue(1, ByteSizeUnit.MB));
+        expectThrows(IllegalArgumentException.class,
+            () -> cache.getOrPrepare(PreparedQueryCache.Key.of(createQueryVectors(), "l2")));
+        assertEquals(0, cache.count());
+    }
+}
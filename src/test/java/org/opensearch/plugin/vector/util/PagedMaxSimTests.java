@@ -0,0 +1,176 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.plugin.vector.util;
+
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for page-aggregated MaxSim scoring at ColPali-like sizes
+ */
+public class PagedMaxSimTests extends OpenSearchTestCase {
+
+    private static final int DIMENSION = 128;
+    private static final int TOKENS_PER_PAGE = 1030;
+    private static final int QUERY_TOKENS = 32;
+    private static final int PAGES = 20;
+    private static final int TOPICS_PER_PAGE = 6;
+
+    private List<Float> unitVector(Random random, float[] center, float noise) {
+        float[] vector = new float[DIMENSION];
+        float norm = 0.0f;
+        for (int j = 0; j < DIMENSION; j++) {
+            vector[j] = (center == null ? 0.0f : center[j]) + (float) random.nextGaussian() * noise;
+            norm += vector[j] * vector[j];
+        }
+        norm = (float) Math.sqrt(norm);
+        List<Float> unit = new ArrayList<>(DIMENSION);
+        for (float value : vector) {
+            unit.add(value / norm);
+        }
+        return unit;
+    }
+
+    private float[][] topics(Random random) {
+        float[][] topics = new float[TOPICS_PER_PAGE][];
+        for (int t = 0; t < TOPICS_PER_PAGE; t++) {
+            topics[t] = VectorUtils.toArray(unitVector(random, null, 1.0f));
+        }
+        return topics;
+    }
+
+    /**
+     * Builds a document whose pages each cover a few topics; the pages in {@code relevantPages}
+     * share the query's topics and every other page has topics of its own.
+     */
+    private List<List<List<Float>>> pages(Random random, float[][] queryTopics, List<Integer> relevantPages) {
+        List<List<List<Float>>> pages = new ArrayList<>();
+        for (int p = 0; p < PAGES; p++) {
+            float[][] topics = relevantPages.contains(p) ? queryTopics : topics(random);
+            List<List<Float>> page = new ArrayList<>();
+            for (int i = 0; i < TOKENS_PER_PAGE; i++) {
+                page.add(unitVector(random, topics[random.nextInt(TOPICS_PER_PAGE)], 0.03f));
+            }
+            pages.add(page);
+        }
+        return pages;
+    }
+
+    private List<List<Float>> query(Random random, float[][] queryTopics) {
+        List<List<Float>> query = new ArrayList<>();
+        for (int i = 0; i < QUERY_TOKENS; i++) {
+            query.add(unitVector(random, queryTopics[random.nextInt(TOPICS_PER_PAGE)], 0.03f));
+        }
+        return query;
+    }
+
+    private void assertPagesSkipped(List<Integer> relevantPages, PageAggregation aggregation, int topK) {
+        Random random = random();
+        float[][] queryTopics = topics(random);
+        List<List<List<Float>>> pageVectors = pages(random, queryTopics, relevantPages);
+        List<List<Float>> queryVectors = query(random, queryTopics);
+
+        List<DocumentPage> pages = new ArrayList<>();
+        for (List<List<Float>> page : pageVectors) {
+            pages.add(DocumentPage.of(page));
+        }
+
+        for (String similarity : List.of("dot_product", "cosine")) {
+            PreparedQuery query = PreparedQuery.prepare(queryVectors, similarity);
+            List<Float> pageScores = new ArrayList<>();
+            for (int p = 0; p < PAGES; p++) {
+                float pageScore = VectorUtils.computeMaxSim(queryVectors, pageVectors.get(p), similarity);
+                assertTrue(pages.get(p).upperBound(query) >= pageScore - 0.0001f);
+                pageScores.add(pageScore);
+            }
+            pageScores.sort(Collections.reverseOrder());
+            float expected = 0.0f;
+            for (int i = 0; i < aggregation.pagesToSum(topK); i++) {
+                expected += pageScores.get(i);
+            }
+
+            int[] pagesScored = new int[1];
+            float score = VectorUtils.computePagedMaxSimBatch(
+                new PreparedQuery[] { query }, pages, aggregation, topK, true, pagesScored)[0];
+
+            assertEquals(expected, score, 0.001f);
+            // Only the pages sharing the query's topics are scored, all others are skipped
+            assertEquals(relevantPages.size(), pagesScored[0]);
+
+            // Without pruning every page is scored, for the same result
+            score = VectorUtils.computePagedMaxSimBatch(
+                new PreparedQuery[] { query }, pages, aggregation, topK, false, pagesScored)[0];
+            assertEquals(expected, score, 0.001f);
+            assertEquals(PAGES, pagesScored[0]);
+        }
+    }
+
+    public void testPagedMaxSimMatchesScoringEveryPage() {
+        List<List<Float>> queryVectors = List.of(List.of(0.1f, 0.2f, 0.3f), List.of(0.4f, 0.5f, 0.6f));
+        List<List<List<Float>>> pageVectors = new ArrayList<>();
+        for (int p = 0; p < 8; p++) {
+            List<List<Float>> page = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                page.add(List.of(randomFloat() * 2 - 1, randomFloat() * 2 - 1, randomFloat() * 2 - 1));
+            }
+            pageVectors.add(page);
+        }
+        List<DocumentPage> pages = new ArrayList<>();
+        for (List<List<Float>> page : pageVectors) {
+            pages.add(DocumentPage.of(page));
+        }
+
+        for (String similarity : List.of("dot_product", "cosine")) {
+            PreparedQuery preparedQuery = PreparedQuery.prepare(queryVectors, similarity);
+            List<Float> pageScores = new ArrayList<>();
+            for (int p = 0; p < pages.size(); p++) {
+                float pageScore = VectorUtils.computeMaxSim(queryVectors, pageVectors.get(p), similarity);
+                assertTrue(pages.get(p).upperBound(preparedQuery) >= pageScore - 0.0001f);
+                pageScores.add(pageScore);
+            }
+            pageScores.sort(Collections.reverseOrder());
+
+            for (PageAggregation aggregation : PageAggregation.values()) {
+                float expected = 0.0f;
+                for (int i = 0; i < aggregation.pagesToSum(3); i++) {
+                    expected += pageScores.get(i);
+                }
+                int[] pagesScored = new int[1];
+                assertEquals(expected, VectorUtils.computePagedMaxSimBatch(
+                    new PreparedQuery[] { preparedQuery }, pages, aggregation, 3, true, pagesScored)[0], 0.0001f);
+                assertTrue(pagesScored[0] >= aggregation.pagesToSum(3) && pagesScored[0] <= pages.size());
+                assertEquals(expected, VectorUtils.computePagedMaxSim(
+                    preparedQuery, pages, aggregation, 3, false), 0.0001f);
+            }
+        }
+    }
+
+    public void testMaxSkipsPagesThatCannotWin() {
+        assertPagesSkipped(List.of(7), PageAggregation.MAX, 3);
+    }
+
+    public void testTopKSumSkipsPagesOutsideTopK() {
+        assertPagesSkipped(List.of(2, 9, 15), PageAggregation.TOP_K_SUM, 3);
+    }
+
+    public void testEveryPageScoredWhenAllPagesCount() {
+        Random random = random();
+        float[][] queryTopics = topics(random);
+        List<DocumentPage> pages = new ArrayList<>();
+        for (List<List<Float>> page : pages(random, queryTopics, List.of()).subList(0, 3)) {
+            pages.add(DocumentPage.of(page));
+        }
+        int[] pagesScored = new int[1];
+        VectorUtils.computePagedMaxSimBatch(
+            new PreparedQuery[] { PreparedQuery.prepare(query(random, queryTopics), "dot_product") },
+            pages, PageAggregation.TOP_K_SUM, 3, true, pagesScored);
+        assertEquals(3, pagesScored[0]);
+    }
+}